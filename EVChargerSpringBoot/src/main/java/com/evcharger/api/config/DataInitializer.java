@@ -2,6 +2,8 @@ package com.evcharger.api.config;
 
 import com.evcharger.api.entity.*;
 import com.evcharger.api.repository.*;
+import com.evcharger.api.service.SlotCalendarService;
+import com.evcharger.api.service.StationService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -29,6 +31,12 @@ public class DataInitializer implements CommandLineRunner {
     @Autowired
     private StationRepository stationRepository;
 
+    @Autowired
+    private StationService stationService;
+
+    @Autowired
+    private SlotCalendarService slotCalendarService;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
@@ -60,6 +68,24 @@ public class DataInitializer implements CommandLineRunner {
                 logger.info("Stations seeded");
             }
 
+            // Index stations created before the search columns existed
+            int indexed = stationService.backfillSearchIndex();
+            if (indexed > 0) {
+                logger.info("Search index backfilled for {} stations", indexed);
+            }
+
+            // Count bookings made before the slot calendar existed into it
+            int counted = slotCalendarService.backfillLiveBookings();
+            if (counted > 0) {
+                logger.info("Slot calendar backfilled with {} existing bookings", counted);
+            }
+
+            // Rating totals of stations that have never had them computed
+            int rated = stationService.backfillRatings();
+            if (rated > 0) {
+                logger.info("Rating totals backfilled for {} stations", rated);
+            }
+
             logger.info("Database initialization completed");
         } catch (Exception e) {
             logger.error("Error during database initialization: ", e);
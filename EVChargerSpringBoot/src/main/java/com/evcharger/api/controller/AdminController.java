@@ -1,15 +1,30 @@
 package com.evcharger.api.controller;
 
+import com.evcharger.api.dto.BookingDto;
+import com.evcharger.api.dto.BookingFilter;
+import com.evcharger.api.dto.CursorPage;
+import com.evcharger.api.dto.DailyRollupDto;
+import com.evcharger.api.dto.ReviewDto;
+import com.evcharger.api.dto.ReviewFilter;
 import com.evcharger.api.service.BookingService;
+import com.evcharger.api.service.DashboardService;
+import com.evcharger.api.service.OccupancyHeatmapService;
+import com.evcharger.api.service.ReviewService;
+import com.evcharger.api.service.StationRollupService;
 import com.evcharger.api.service.StationService;
 import com.evcharger.api.service.UserService;
-import com.evcharger.api.repository.ReviewRepository;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -32,23 +47,59 @@ public class AdminController {
 
     @Autowired
     private StationService stationService;
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @Autowired
+    private StationRollupService stationRollupService;
+
+    @Autowired
+    private OccupancyHeatmapService occupancyHeatmapService;
     
     @Autowired
-    private ReviewRepository reviewRepository;
+    private ReviewService reviewService;
 
     @GetMapping("/dashboard-stats")
-    @Operation(summary = "Get dashboard statistics", description = "Get admin dashboard statistics")
+    @PreAuthorize("hasRole('Admin')")
+    @Operation(summary = "Get dashboard statistics", description = "Get admin dashboard statistics: user, station and booking counts and revenue from confirmed and completed bookings, refreshed at most every 30 seconds")
     public ResponseEntity<?> getDashboardStats() {
-        // Mock implementation - replace with actual service calls
-        Map<String, Object> stats = Map.of(
-            "totalUsers", userService.getAllUsers().size(),
-            "totalStations", stationService.getAllStations().size(),
-            "totalBookings", bookingService.getAllBookings().size(),
-            "activeBookings", bookingService.getAllBookings().stream()
-                .mapToInt(b -> "Confirmed".equals(b.getStatus()) ? 1 : 0).sum(),
-            "revenue", 50000.0
-        );
-        return ResponseEntity.ok(Map.of("stats", stats));
+        return ResponseEntity.ok(Map.of("stats", dashboardService.getStats()));
+    }
+
+    @GetMapping("/rollups/daily")
+    @PreAuthorize("hasRole('Admin')")
+    @Operation(summary = "Get daily booking rollups", description = "Sessions, cancellations, booked minutes and revenue per day (at most 366 days) for one station, with utilization, or summed over all stations; days without bookings are omitted")
+    public ResponseEntity<?> getDailyRollups(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long stationId) {
+        try {
+            List<DailyRollupDto> days = stationId != null
+                    ? stationRollupService.getStationRollups(stationId, from, to)
+                    : stationRollupService.getAllStationsRollups(from, to);
+            Map<String, Object> response = new HashMap<>();
+            response.put("stationId", stationId);
+            response.put("days", days);
+            return ResponseEntity.ok(response);
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("message", "Error retrieving rollups", "error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/occupancy-heatmap")
+    @PreAuthorize("hasRole('Admin')")
+    @Operation(summary = "Get hour-of-week occupancy heatmap", description = "7x24 matrix (Monday first) of booked minutes and occupancy for one station, or across all stations")
+    public ResponseEntity<?> getOccupancyHeatmap(@RequestParam(required = false) Long stationId) {
+        try {
+            return ResponseEntity.ok(stationId != null
+                    ? occupancyHeatmapService.getStationHeatmap(stationId)
+                    : occupancyHeatmapService.getAllStationsHeatmap());
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("message", "Error retrieving occupancy heatmap", "error", e.getMessage()));
+        }
     }
 
     @GetMapping("/users")
@@ -58,54 +109,66 @@ public class AdminController {
     }
 
     @GetMapping("/bookings")
-    @Operation(summary = "Get all bookings (Admin)", description = "Get all bookings for admin management")
-    public ResponseEntity<?> getAllBookings() {
-        return ResponseEntity.ok(Map.of("bookings", bookingService.getAllBookings()));
+    @Operation(summary = "Get all bookings (Admin)", description = "Get all bookings for admin management; with limit, cursor or any filter the result is a newest-first page with nextCursor")
+    public ResponseEntity<?> getAllBookings(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long stationId,
+            @RequestParam(required = false) String paymentMethod,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
+        BookingFilter filter = new BookingFilter(status, from, to, stationId, paymentMethod);
+        if (limit == null && cursor == null && filter.isEmpty()) {
+            return ResponseEntity.ok(Map.of("bookings", bookingService.getAllBookings()));
+        }
+
+        CursorPage<BookingDto> page = bookingService.getAllBookingsPage(filter,
+                limit != null ? limit : BookingService.DEFAULT_PAGE_SIZE, cursor);
+        Map<String, Object> response = new HashMap<>();
+        response.put("bookings", page.getItems());
+        response.put("nextCursor", page.getNextCursor());
+        return ResponseEntity.ok(response);
     }
     
+    @GetMapping("/bookings/export")
+    @PreAuthorize("hasRole('Admin')")
+    @Operation(summary = "Export all bookings (Admin)", description = "Stream every booking as NDJSON (default) or CSV without loading the table into memory")
+    public ResponseEntity<StreamingResponseBody> exportBookings(@RequestParam(defaultValue = "ndjson") String format) {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        StreamingResponseBody body = out -> bookingService.exportAllBookings(format, out);
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv") : new MediaType("application", "x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=bookings." + (csv ? "csv" : "ndjson"))
+                .body(body);
+    }
+
     @GetMapping("/reviews")
-    @Operation(summary = "Get all reviews (Admin)", description = "Get all reviews for admin management")
-    public ResponseEntity<?> getAllReviews() {
-        try {
-            var reviews = reviewRepository.findAllWithUserAndStation();
-            List<Map<String, Object>> reviewList = new ArrayList<>();
-            
-            for (var review : reviews) {
-                Map<String, Object> reviewMap = new HashMap<>();
-                reviewMap.put("id", review.getId());
-                reviewMap.put("userId", review.getUserId());
-                reviewMap.put("stationId", review.getStationId());
-                reviewMap.put("rating", review.getRating());
-                reviewMap.put("comment", review.getComment());
-                reviewMap.put("createdAt", review.getCreatedAt());
-                
-                // User info
-                Map<String, Object> userInfo = new HashMap<>();
-                if (review.getUser() != null) {
-                    userInfo.put("name", review.getUser().getName());
-                    userInfo.put("email", review.getUser().getEmail());
-                } else {
-                    userInfo.put("name", "Unknown");
-                    userInfo.put("email", "Unknown");
-                }
-                reviewMap.put("user", userInfo);
-                
-                // Station info
-                Map<String, Object> stationInfo = new HashMap<>();
-                if (review.getStation() != null) {
-                    stationInfo.put("name", review.getStation().getName());
-                } else {
-                    stationInfo.put("name", "Unknown");
-                }
-                reviewMap.put("station", stationInfo);
-                
-                reviewList.add(reviewMap);
+    @Operation(summary = "Get all reviews (Admin)", description = "Get all reviews for admin management, lowest rated first; with limit, cursor or any filter the result is a page with nextCursor")
+    public ResponseEntity<?> getAllReviews(
+            @RequestParam(required = false) Long stationId,
+            @RequestParam(required = false) Integer minRating,
+            @RequestParam(required = false) Integer maxRating,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
+        ReviewFilter filter = new ReviewFilter(stationId, minRating, maxRating, from, to);
+        if (limit != null || cursor != null || !filter.isEmpty()) {
+            try {
+                CursorPage<ReviewDto> page = reviewService.getReviewsPage(filter,
+                        limit != null ? limit : ReviewService.DEFAULT_PAGE_SIZE, cursor);
+                Map<String, Object> response = new HashMap<>();
+                response.put("reviews", page.getItems());
+                response.put("nextCursor", page.getNextCursor());
+                return ResponseEntity.ok(response);
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
             }
-            
-            // Sort by rating (ascending) to match .NET implementation
-            reviewList.sort((a, b) -> Integer.compare((Integer) a.get("rating"), (Integer) b.get("rating")));
-            
-            return ResponseEntity.ok(reviewList);
+        }
+
+        try {
+            return ResponseEntity.ok(reviewService.getAllReviews());
         } catch (Exception e) {
             return ResponseEntity.ok(new ArrayList<>());
         }
@@ -2,8 +2,14 @@ package com.evcharger.api.controller;
 
 import com.evcharger.api.dto.AdminCancelBookingDto;
 import com.evcharger.api.dto.BookingDto;
+import com.evcharger.api.dto.BookingFilter;
 import com.evcharger.api.dto.CreateBookingDto;
+import com.evcharger.api.dto.CreateHoldDto;
+import com.evcharger.api.dto.CursorPage;
+import com.evcharger.api.exception.IdempotencyKeyReusedException;
 import com.evcharger.api.security.UserDetailsImpl;
+import com.evcharger.api.service.BookingHoldService;
+import com.evcharger.api.service.BookingIdempotencyService;
 import com.evcharger.api.service.BookingService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -11,10 +17,13 @@ import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -28,9 +37,16 @@ public class BookingsController {
     @Autowired
     private BookingService bookingService;
 
+    @Autowired
+    private BookingHoldService bookingHoldService;
+
+    @Autowired
+    private BookingIdempotencyService bookingIdempotencyService;
+
     @PostMapping
-    @Operation(summary = "Create booking", description = "Create a new charging station booking")
+    @Operation(summary = "Create booking", description = "Create a new charging station booking; retries with the same Idempotency-Key header or paymentId return the original booking, and a reused key with a different body is rejected with 422")
     public ResponseEntity<?> createBooking(@Valid @RequestBody CreateBookingDto createBookingDto,
+                                         @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
                                          Authentication authentication) {
         try {
             UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
@@ -38,9 +54,12 @@ public class BookingsController {
             
             logger.info("Creating booking for user {} with data: {}", userId, createBookingDto);
             
-            BookingDto booking = bookingService.createBooking(userId, createBookingDto);
+            BookingDto booking = bookingIdempotencyService.createBooking(userId, createBookingDto, idempotencyKey);
             
             return ResponseEntity.ok(Map.of("booking", Map.of("id", booking.getId(), "status", booking.getStatus())));
+        } catch (IdempotencyKeyReusedException e) {
+            return ResponseEntity.status(422)
+                    .body(Map.of("message", "Error creating booking", "error", e.getMessage()));
         } catch (Exception e) {
             logger.error("Error creating booking: {}", e.getMessage());
             return ResponseEntity.status(500)
@@ -48,14 +67,51 @@ public class BookingsController {
         }
     }
 
+    @PostMapping("/hold")
+    @Operation(summary = "Hold booking slot", description = "Reserve capacity for a few minutes while checkout completes; confirm by creating the booking with holdId")
+    public ResponseEntity<?> holdBooking(@Valid @RequestBody CreateHoldDto createHoldDto,
+                                         Authentication authentication) {
+        try {
+            UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+            Long userId = userDetails.getId();
+
+            BookingDto hold = bookingHoldService.createHold(userId, createHoldDto);
+
+            return ResponseEntity.ok(Map.of("hold", Map.of(
+                "id", hold.getId(),
+                "status", hold.getStatus(),
+                "expiresAt", hold.getHoldExpiresAt()
+            )));
+        } catch (Exception e) {
+            logger.error("Error creating hold: {}", e.getMessage());
+            return ResponseEntity.status(409)
+                    .body(Map.of("message", "Error creating hold", "error", e.getMessage()));
+        }
+    }
+
     @GetMapping("/user")
-    @Operation(summary = "Get user bookings", description = "Get all bookings for the current user")
-    public ResponseEntity<?> getUserBookings(Authentication authentication) {
+    @Operation(summary = "Get user bookings", description = "Get bookings for the current user; with limit, cursor or any filter the result is a newest-first page with nextCursor")
+    public ResponseEntity<?> getUserBookings(
+            Authentication authentication,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long stationId,
+            @RequestParam(required = false) String paymentMethod,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
         try {
             UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
             Long userId = userDetails.getId();
             
             logger.info("Getting bookings for user ID: {}", userId);
+
+            BookingFilter filter = new BookingFilter(status, from, to, stationId, paymentMethod);
+            if (limit != null || cursor != null || !filter.isEmpty()) {
+                CursorPage<BookingDto> page = bookingService.getUserBookingsPage(userId, filter,
+                        limit != null ? limit : BookingService.DEFAULT_PAGE_SIZE, cursor);
+                return ResponseEntity.ok(pageResponse(page));
+            }
             
             List<BookingDto> bookings = bookingService.getUserBookings(userId);
             
@@ -140,4 +196,11 @@ public class BookingsController {
                     .body(Map.of("message", "Error cancelling booking"));
         }
     }
-}
\ No newline at end of file
+
+    private static Map<String, Object> pageResponse(CursorPage<BookingDto> page) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("bookings", page.getItems());
+        response.put("nextCursor", page.getNextCursor());
+        return response;
+    }
+}
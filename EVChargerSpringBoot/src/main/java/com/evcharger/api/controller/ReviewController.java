@@ -1,6 +1,9 @@
 package com.evcharger.api.controller;
 
 import com.evcharger.api.dto.CreateReviewDto;
+import com.evcharger.api.dto.CursorPage;
+import com.evcharger.api.dto.ReviewDto;
+import com.evcharger.api.dto.ReviewFilter;
 import com.evcharger.api.entity.Review;
 import com.evcharger.api.entity.User;
 import com.evcharger.api.entity.Station;
@@ -8,17 +11,20 @@ import com.evcharger.api.repository.ReviewRepository;
 import com.evcharger.api.repository.UserRepository;
 import com.evcharger.api.repository.StationRepository;
 import com.evcharger.api.security.UserDetailsImpl;
+import com.evcharger.api.service.ReviewService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -40,49 +46,35 @@ public class ReviewController {
     @Autowired
     private StationRepository stationRepository;
 
+    @Autowired
+    private ReviewService reviewService;
+
     @GetMapping
-    @Operation(summary = "Get all reviews", description = "Get all reviews with user and station information")
-    public ResponseEntity<?> getAllReviews() {
-        try {
-            List<Review> reviews = reviewRepository.findAllWithUserAndStation();
-            List<Map<String, Object>> reviewList = new ArrayList<>();
-            
-            for (Review review : reviews) {
-                Map<String, Object> reviewMap = new HashMap<>();
-                reviewMap.put("id", review.getId());
-                reviewMap.put("userId", review.getUserId());
-                reviewMap.put("stationId", review.getStationId());
-                reviewMap.put("rating", review.getRating());
-                reviewMap.put("comment", review.getComment());
-                reviewMap.put("createdAt", review.getCreatedAt());
-                
-                // User info
-                Map<String, Object> userInfo = new HashMap<>();
-                if (review.getUser() != null) {
-                    userInfo.put("name", review.getUser().getName());
-                    userInfo.put("email", review.getUser().getEmail());
-                } else {
-                    userInfo.put("name", "Unknown");
-                    userInfo.put("email", "Unknown");
-                }
-                reviewMap.put("user", userInfo);
-                
-                // Station info
-                Map<String, Object> stationInfo = new HashMap<>();
-                if (review.getStation() != null) {
-                    stationInfo.put("name", review.getStation().getName());
-                } else {
-                    stationInfo.put("name", "Unknown");
-                }
-                reviewMap.put("station", stationInfo);
-                
-                reviewList.add(reviewMap);
+    @Operation(summary = "Get all reviews", description = "Get all reviews with user and station information, lowest rated first; with limit, cursor or any filter the result is a page with nextCursor")
+    public ResponseEntity<?> getAllReviews(
+            @RequestParam(required = false) Long stationId,
+            @RequestParam(required = false) Integer minRating,
+            @RequestParam(required = false) Integer maxRating,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
+        ReviewFilter filter = new ReviewFilter(stationId, minRating, maxRating, from, to);
+        if (limit != null || cursor != null || !filter.isEmpty()) {
+            try {
+                CursorPage<ReviewDto> page = reviewService.getReviewsPage(filter,
+                        limit != null ? limit : ReviewService.DEFAULT_PAGE_SIZE, cursor);
+                Map<String, Object> response = new HashMap<>();
+                response.put("reviews", page.getItems());
+                response.put("nextCursor", page.getNextCursor());
+                return ResponseEntity.ok(response);
+            } catch (RuntimeException e) {
+                return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
             }
-            
-            
-            reviewList.sort((a, b) -> Integer.compare((Integer) a.get("rating"), (Integer) b.get("rating")));
-            
-            return ResponseEntity.ok(reviewList);
+        }
+
+        try {
+            return ResponseEntity.ok(reviewService.getAllReviews());
         } catch (Exception e) {
             logger.error("Error getting all reviews: {}", e.getMessage());
             return ResponseEntity.ok(new ArrayList<>());
@@ -114,15 +106,7 @@ public class ReviewController {
     public ResponseEntity<?> createReview(@Valid @RequestBody CreateReviewDto dto, Authentication authentication) {
         try {
             UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
-            Long userId = userDetails.getId();
-            
-            Review review = new Review();
-            review.setUserId(userId);
-            review.setStationId(dto.getStationId());
-            review.setRating(dto.getRating());
-            review.setComment(dto.getComment());
-            
-            reviewRepository.save(review);
+            reviewService.createReview(userDetails.getId(), dto);
             
             return ResponseEntity.ok(Map.of("message", "Review created successfully"));
         } catch (Exception e) {
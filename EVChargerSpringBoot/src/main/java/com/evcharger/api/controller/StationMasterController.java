@@ -1,20 +1,31 @@
 package com.evcharger.api.controller;
 
 import com.evcharger.api.dto.BookingDto;
+import com.evcharger.api.dto.BookingFilter;
+import com.evcharger.api.dto.BulkBookingStatusDto;
+import com.evcharger.api.dto.CursorPage;
+import com.evcharger.api.dto.DailyRollupDto;
+import com.evcharger.api.dto.ReviewDto;
+import com.evcharger.api.dto.ReviewFilter;
 import com.evcharger.api.dto.StationDto;
 import com.evcharger.api.entity.Review;
 import com.evcharger.api.repository.ReviewRepository;
 import com.evcharger.api.security.UserDetailsImpl;
 import com.evcharger.api.service.BookingService;
+import com.evcharger.api.service.OccupancyHeatmapService;
+import com.evcharger.api.service.ReviewService;
+import com.evcharger.api.service.StationRollupService;
 import com.evcharger.api.service.StationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -31,10 +42,19 @@ public class StationMasterController {
 
     @Autowired
     private BookingService bookingService;
+
+    @Autowired
+    private StationRollupService stationRollupService;
+
+    @Autowired
+    private OccupancyHeatmapService occupancyHeatmapService;
     
     @Autowired
     private ReviewRepository reviewRepository;
 
+    @Autowired
+    private ReviewService reviewService;
+
     @GetMapping("/stations")
     @Operation(summary = "Get stations managed by station master")
     public ResponseEntity<?> getMyStations(Authentication authentication) {
@@ -103,12 +123,29 @@ public class StationMasterController {
     }
 
     @GetMapping("/stations/{id}/bookings")
-    @Operation(summary = "Get bookings for station")
-    public ResponseEntity<?> getStationBookings(@PathVariable Long id, 
-                                               Authentication authentication) {
+    @Operation(summary = "Get bookings for station", description = "With limit, cursor or any filter the result is a newest-first page with nextCursor")
+    public ResponseEntity<?> getStationBookings(
+            @PathVariable Long id,
+            Authentication authentication,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String paymentMethod,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
         try {
             UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
             Long stationMasterId = userDetails.getId();
+
+            BookingFilter filter = new BookingFilter(status, from, to, null, paymentMethod);
+            if (limit != null || cursor != null || !filter.isEmpty()) {
+                CursorPage<BookingDto> page = bookingService.getStationBookingsPage(id, stationMasterId, filter,
+                        limit != null ? limit : BookingService.DEFAULT_PAGE_SIZE, cursor);
+                Map<String, Object> response = new HashMap<>();
+                response.put("bookings", page.getItems());
+                response.put("nextCursor", page.getNextCursor());
+                return ResponseEntity.ok(response);
+            }
             
             List<BookingDto> bookings = bookingService.getBookingsForStationMaster(id, stationMasterId);
             return ResponseEntity.ok(bookings);
@@ -118,6 +155,35 @@ public class StationMasterController {
         }
     }
     
+    @GetMapping("/stations/{id}/rollups/daily")
+    @Operation(summary = "Get daily rollups for station", description = "Sessions, cancellations, booked minutes, utilization and revenue per day (at most 366 days) for a station owned by the station master")
+    public ResponseEntity<?> getStationDailyRollups(
+            @PathVariable Long id,
+            Authentication authentication,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+            List<DailyRollupDto> days = stationRollupService.getStationRollupsForMaster(id, userDetails.getId(), from, to);
+            return ResponseEntity.ok(Map.of("stationId", id, "days", days));
+        } catch (Exception e) {
+            return ResponseEntity.status(500)
+                    .body(Map.of("message", "Error retrieving rollups", "error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/stations/{id}/occupancy-heatmap")
+    @Operation(summary = "Get occupancy heatmap for station", description = "7x24 matrix (Monday first) of booked minutes and occupancy by hour of week for a station owned by the station master")
+    public ResponseEntity<?> getStationOccupancyHeatmap(@PathVariable Long id, Authentication authentication) {
+        try {
+            UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+            return ResponseEntity.ok(occupancyHeatmapService.getStationHeatmapForMaster(id, userDetails.getId()));
+        } catch (Exception e) {
+            return ResponseEntity.status(500)
+                    .body(Map.of("message", "Error retrieving occupancy heatmap", "error", e.getMessage()));
+        }
+    }
+
     @GetMapping("/stations/{id}/reviews")
     @Operation(summary = "Get reviews for station", description = "Get all reviews for a specific station owned by station master")
     public ResponseEntity<?> getStationReviews(@PathVariable Long id, Authentication authentication) {
@@ -140,52 +206,36 @@ public class StationMasterController {
     }
     
     @GetMapping("/reviews")
-    @Operation(summary = "Get all reviews for station master", description = "Get all reviews for stations owned by station master")
-    public ResponseEntity<?> getMyStationReviews(Authentication authentication) {
+    @Operation(summary = "Get all reviews for station master", description = "Get all reviews for stations owned by station master, lowest rated first; with limit, cursor or any filter the result is a page with nextCursor")
+    public ResponseEntity<?> getMyStationReviews(
+            Authentication authentication,
+            @RequestParam(required = false) Long stationId,
+            @RequestParam(required = false) Integer minRating,
+            @RequestParam(required = false) Integer maxRating,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor) {
         try {
             UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
             Long stationMasterId = userDetails.getId();
-            
-            // Get all stations owned by this station master
-            List<StationDto> myStations = stationService.getStationsByMaster(stationMasterId);
-            List<Map<String, Object>> allReviews = new ArrayList<>();
-            
-            for (StationDto station : myStations) {
-                List<Review> stationReviews = reviewRepository.findByStationIdWithUser(station.getId());
-                
-                for (Review review : stationReviews) {
-                    Map<String, Object> reviewMap = new HashMap<>();
-                    reviewMap.put("id", review.getId());
-                    reviewMap.put("userId", review.getUserId());
-                    reviewMap.put("stationId", review.getStationId());
-                    reviewMap.put("rating", review.getRating());
-                    reviewMap.put("comment", review.getComment());
-                    reviewMap.put("createdAt", review.getCreatedAt());
-                    
-                    // User info
-                    Map<String, Object> userInfo = new HashMap<>();
-                    if (review.getUser() != null) {
-                        userInfo.put("name", review.getUser().getName());
-                        userInfo.put("email", review.getUser().getEmail());
-                    } else {
-                        userInfo.put("name", "Unknown");
-                        userInfo.put("email", "Unknown");
-                    }
-                    reviewMap.put("user", userInfo);
-                    
-                    // Station info
-                    Map<String, Object> stationInfo = new HashMap<>();
-                    stationInfo.put("name", station.getName());
-                    reviewMap.put("station", stationInfo);
-                    
-                    allReviews.add(reviewMap);
+
+            ReviewFilter filter = new ReviewFilter(stationId, minRating, maxRating, from, to);
+            if (limit != null || cursor != null || !filter.isEmpty()) {
+                CursorPage<ReviewDto> page;
+                try {
+                    page = reviewService.getStationMasterReviewsPage(stationMasterId, filter,
+                            limit != null ? limit : ReviewService.DEFAULT_PAGE_SIZE, cursor);
+                } catch (RuntimeException e) {
+                    return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
                 }
+                Map<String, Object> response = new HashMap<>();
+                response.put("reviews", page.getItems());
+                response.put("nextCursor", page.getNextCursor());
+                return ResponseEntity.ok(response);
             }
-            
-            // Sort by rating (ascending) to match .NET implementation
-            allReviews.sort((a, b) -> Integer.compare((Integer) a.get("rating"), (Integer) b.get("rating")));
-            
-            return ResponseEntity.ok(allReviews);
+
+            return ResponseEntity.ok(reviewService.getStationMasterReviews(stationMasterId));
         } catch (Exception e) {
             return ResponseEntity.ok(new ArrayList<>());
         }
@@ -193,9 +243,10 @@ public class StationMasterController {
 
     @PutMapping("/bookings/{id}/confirm")
     @Operation(summary = "Confirm booking")
-    public ResponseEntity<?> confirmBooking(@PathVariable Long id) {
+    public ResponseEntity<?> confirmBooking(@PathVariable Long id, Authentication authentication) {
         try {
-            bookingService.updateBookingStatus(id, "Confirmed");
+            UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+            bookingService.updateBookingStatus(userDetails.getId(), id, "Confirmed");
             return ResponseEntity.ok(Map.of("message", "Booking confirmed successfully"));
         } catch (Exception e) {
             e.printStackTrace();
@@ -206,9 +257,10 @@ public class StationMasterController {
 
     @PutMapping("/bookings/{id}/cancel")
     @Operation(summary = "Cancel booking")
-    public ResponseEntity<?> cancelBooking(@PathVariable Long id) {
+    public ResponseEntity<?> cancelBooking(@PathVariable Long id, Authentication authentication) {
         try {
-            bookingService.updateBookingStatus(id, "Cancelled");
+            UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+            bookingService.updateBookingStatus(userDetails.getId(), id, "Cancelled");
             return ResponseEntity.ok(Map.of("message", "Booking cancelled successfully"));
         } catch (Exception e) {
             e.printStackTrace();
@@ -217,6 +269,25 @@ public class StationMasterController {
         }
     }
 
+    @PostMapping("/bookings/bulk-status")
+    @Operation(summary = "Update booking status in bulk", description = "Move many bookings of your stations to Confirmed, Cancelled or Completed in one transaction; returns the outcome per booking id")
+    public ResponseEntity<?> bulkUpdateBookingStatus(@Valid @RequestBody BulkBookingStatusDto request,
+                                                     Authentication authentication) {
+        try {
+            UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+            Long stationMasterId = userDetails.getId();
+
+            Map<Long, String> results = bookingService.bulkUpdateBookingStatus(
+                    stationMasterId, request.getBookingIds(), request.getStatus());
+            long updated = results.values().stream().filter("Updated"::equals).count();
+
+            return ResponseEntity.ok(Map.of("updated", updated, "results", results));
+        } catch (Exception e) {
+            return ResponseEntity.status(500)
+                    .body(Map.of("message", "Error updating bookings", "error", e.getMessage()));
+        }
+    }
+
     @GetMapping("/test")
     public ResponseEntity<?> test() {
         return ResponseEntity.ok(Map.of("message", "Station Master API is working"));
@@ -224,9 +295,10 @@ public class StationMasterController {
 
     @PutMapping("/bookings/{id}/complete")
     @Operation(summary = "Complete booking")
-    public ResponseEntity<?> completeBooking(@PathVariable Long id) {
+    public ResponseEntity<?> completeBooking(@PathVariable Long id, Authentication authentication) {
         try {
-            bookingService.updateBookingStatus(id, "Completed");
+            UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+            bookingService.updateBookingStatus(userDetails.getId(), id, "Completed");
             return ResponseEntity.ok(Map.of("message", "Booking completed successfully", "bookingId", id));
         } catch (Exception e) {
             return ResponseEntity.status(500).body(Map.of("message", e.getMessage(), "error", e.getClass().getSimpleName()));
@@ -1,14 +1,32 @@
 package com.evcharger.api.controller;
 
+import com.evcharger.api.dto.CursorPage;
+import com.evcharger.api.dto.QuoteDto;
+import com.evcharger.api.dto.QuoteRequestDto;
+import com.evcharger.api.dto.RouteSearchDto;
+import com.evcharger.api.dto.SlotAvailabilityDto;
 import com.evcharger.api.dto.StationDto;
+import com.evcharger.api.dto.StationFilter;
+import com.evcharger.api.exception.SubscriptionLimitException;
+import com.evcharger.api.service.SlotCalendarService;
+import com.evcharger.api.service.StationAvailabilityPublisher;
 import com.evcharger.api.service.StationService;
+import com.evcharger.api.service.TariffService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -22,11 +40,30 @@ public class StationsController {
     @Autowired
     private StationService stationService;
 
+    @Autowired
+    private StationAvailabilityPublisher availabilityPublisher;
+
+    @Autowired
+    private SlotCalendarService slotCalendarService;
+
+    @Autowired
+    private TariffService tariffService;
+
     @GetMapping
-    @Operation(summary = "Get all stations", description = "Retrieve all EV charging stations for admin management")
-    public ResponseEntity<?> getStations() {
-        List<StationDto> stations = stationService.getAllStations();
-        return ResponseEntity.ok(Map.of("stations", stations));
+    @Operation(summary = "Get all stations", description = "Retrieve all EV charging stations, optionally filtered by connector, power, price and amenities; sort=rating lists the best rated first")
+    public ResponseEntity<?> getStations(
+            @RequestParam(required = false) String[] connector,
+            @RequestParam(required = false) Double minPower,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) String[] amenity,
+            @RequestParam(required = false) String sort) {
+        StationFilter filter = new StationFilter(connector, minPower, maxPrice, amenity);
+        try {
+            List<StationDto> stations = stationService.getAllStations(filter, sort);
+            return ResponseEntity.ok(Map.of("stations", stations));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body(Map.of("message", e.getMessage()));
+        }
     }
 
     @GetMapping("/{id}")
@@ -67,13 +104,83 @@ public class StationsController {
     }
 
     @GetMapping("/nearby")
-    @Operation(summary = "Get nearby stations", description = "Find EV charging stations within specified range")
+    @Operation(summary = "Get nearby stations", description = "Find the nearest EV charging stations within specified range, paged by cursor")
     public ResponseEntity<?> getNearbyStations(
             @RequestParam double lat,
             @RequestParam double lng,
-            @RequestParam(defaultValue = "50") double range) {
+            @RequestParam(defaultValue = "50") double range,
+            @RequestParam(required = false) String[] connector,
+            @RequestParam(required = false) Double minPower,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) String[] amenity,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) String cursor) {
         
-        List<StationDto> nearbyStations = stationService.getNearbyStations(lat, lng, range);
-        return ResponseEntity.ok(Map.of("stations", nearbyStations));
+        StationFilter filter = new StationFilter(connector, minPower, maxPrice, amenity);
+        CursorPage<StationDto> page = stationService.getNearbyStations(lat, lng, range, filter, limit, cursor);
+        Map<String, Object> response = new HashMap<>();
+        response.put("stations", page.getItems());
+        response.put("nextCursor", page.getNextCursor());
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream station availability", description = "Server-sent events with availableSlots/status changes for one station (stationId) or an area (lat, lng, range)")
+    public ResponseEntity<SseEmitter> streamAvailability(
+            @RequestParam(required = false) Long stationId,
+            @RequestParam(required = false) Double lat,
+            @RequestParam(required = false) Double lng,
+            @RequestParam(defaultValue = "10") double range,
+            HttpServletRequest request) {
+        if (stationId == null && (lat == null || lng == null)) {
+            throw new RuntimeException("Either stationId or lat/lng is required");
+        }
+        String clientId = request.getRemoteAddr();
+        try {
+            return ResponseEntity.ok(stationId != null
+                    ? availabilityPublisher.subscribeToStation(clientId, stationId)
+                    : availabilityPublisher.subscribeToArea(clientId, lat, lng, range));
+        } catch (SubscriptionLimitException e) {
+            return ResponseEntity.status(e.getStatus()).header(HttpHeaders.RETRY_AFTER, "30").build();
+        }
+    }
+
+    @GetMapping("/viewport")
+    @Operation(summary = "Get stations for map viewport", description = "Clusters of approved stations (count, centroid, available slots) for a bounding box at coarse zoom, individual stations at fine zoom")
+    public ResponseEntity<?> getViewport(
+            @RequestParam double minLat,
+            @RequestParam double minLng,
+            @RequestParam double maxLat,
+            @RequestParam double maxLng,
+            @RequestParam int zoom) {
+        return ResponseEntity.ok(stationService.getViewport(minLat, minLng, maxLat, maxLng, zoom));
+    }
+
+    @PostMapping("/route")
+    @Operation(summary = "Get stations along route", description = "Find EV charging stations within a corridor around an encoded route polyline, ordered by distance along the route")
+    public ResponseEntity<?> getStationsAlongRoute(@Valid @RequestBody RouteSearchDto request) {
+        List<StationDto> stations = stationService.getStationsAlongRoute(request);
+        return ResponseEntity.ok(Map.of("stations", stations));
+    }
+
+    @GetMapping("/{id}/availability")
+    @Operation(summary = "Get station availability", description = "Free capacity of a station per time interval between two dates (inclusive, at most 31 days)")
+    public ResponseEntity<?> getAvailability(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        List<SlotAvailabilityDto> intervals = slotCalendarService.getFreeIntervals(id, from, to);
+        return ResponseEntity.ok(Map.of(
+            "stationId", id,
+            "slotMinutes", SlotCalendarService.SLOT_MINUTES,
+            "intervals", intervals
+        ));
+    }
+
+    @PostMapping("/quote")
+    @Operation(summary = "Quote charging options", description = "Price up to 500 station/time options from the in-memory tariff table; bookings are charged the same amount")
+    public ResponseEntity<?> quote(@Valid @RequestBody QuoteRequestDto request) {
+        List<QuoteDto> quotes = tariffService.quoteAll(request.getOptions());
+        return ResponseEntity.ok(Map.of("quotes", quotes));
     }
-}
\ No newline at end of file
+}
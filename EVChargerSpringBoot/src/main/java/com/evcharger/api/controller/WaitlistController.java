@@ -0,0 +1,71 @@
+package com.evcharger.api.controller;
+
+import com.evcharger.api.dto.JoinWaitlistDto;
+import com.evcharger.api.dto.WaitlistEntryDto;
+import com.evcharger.api.security.UserDetailsImpl;
+import com.evcharger.api.service.WaitlistService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/waitlist")
+@Tag(name = "Waitlist", description = "Station waitlist APIs")
+@CrossOrigin(origins = {"http://localhost:5173", "http://localhost:5174", "http://localhost:3000"})
+public class WaitlistController {
+    private static final Logger logger = LoggerFactory.getLogger(WaitlistController.class);
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @PostMapping
+    @Operation(summary = "Join waitlist", description = "Wait for capacity at a full station; when a slot in the window frees up the first waiting user gets a hold")
+    public ResponseEntity<?> joinWaitlist(@Valid @RequestBody JoinWaitlistDto joinWaitlistDto,
+                                          Authentication authentication) {
+        try {
+            UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+            WaitlistEntryDto entry = waitlistService.join(userDetails.getId(), joinWaitlistDto);
+            return ResponseEntity.ok(Map.of("entry", entry));
+        } catch (Exception e) {
+            logger.error("Error joining waitlist: {}", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .body(Map.of("message", "Error joining waitlist", "error", e.getMessage()));
+        }
+    }
+
+    @GetMapping
+    @Operation(summary = "Get my waitlist entries", description = "Waitlist entries of the current user with queue position or, once promoted, the hold's booking id")
+    public ResponseEntity<?> getWaitlistEntries(Authentication authentication) {
+        try {
+            UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+            List<WaitlistEntryDto> entries = waitlistService.getUserEntries(userDetails.getId());
+            return ResponseEntity.ok(Map.of("entries", entries));
+        } catch (Exception e) {
+            logger.error("Error getting waitlist entries: {}", e.getMessage());
+            return ResponseEntity.status(500)
+                    .body(Map.of("message", "Error retrieving waitlist entries", "error", e.getMessage()));
+        }
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Leave waitlist", description = "Remove a waiting entry of the current user")
+    public ResponseEntity<?> leaveWaitlist(@PathVariable Long id, Authentication authentication) {
+        try {
+            UserDetailsImpl userDetails = (UserDetailsImpl) authentication.getPrincipal();
+            waitlistService.leave(id, userDetails.getId());
+            return ResponseEntity.ok(Map.of("message", "Left the waitlist"));
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(404)
+                    .body(Map.of("message", e.getMessage()));
+        }
+    }
+}
@@ -24,9 +24,43 @@ public class BookingDto {
     private String paymentId;
     private LocalDateTime createdAt;
     private String cancellationMessage;
+    private LocalDateTime holdExpiresAt;
 
     public BookingDto() {}
 
+    /**
+     * Used by the JPQL constructor projections in BookingRepository, so list reads
+     * select only these columns and never build managed entities. Missing optional
+     * values get the same defaults the API has always returned.
+     */
+    public BookingDto(Long id, Long userId, Long stationId, LocalDateTime startTime, LocalDateTime endTime,
+                      String status, BigDecimal amount, String date, String timeSlot, Integer duration,
+                      String paymentMethod, String vehicleType, String vehicleBrand, String vehicleModel,
+                      String vehicleNumber, String paymentId, LocalDateTime createdAt, String cancellationMessage,
+                      LocalDateTime holdExpiresAt, String stationName, String userName) {
+        this.id = id;
+        this.userId = userId;
+        this.stationId = stationId;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.status = status != null ? status : "Confirmed";
+        this.amount = amount;
+        this.date = date != null ? date : "";
+        this.timeSlot = timeSlot != null ? timeSlot : "";
+        this.duration = duration;
+        this.paymentMethod = paymentMethod != null ? paymentMethod : "Card";
+        this.vehicleType = vehicleType != null ? vehicleType : "";
+        this.vehicleBrand = vehicleBrand != null ? vehicleBrand : "";
+        this.vehicleModel = vehicleModel != null ? vehicleModel : "";
+        this.vehicleNumber = vehicleNumber != null ? vehicleNumber : "";
+        this.paymentId = paymentId != null ? paymentId : "";
+        this.createdAt = createdAt;
+        this.cancellationMessage = cancellationMessage;
+        this.holdExpiresAt = holdExpiresAt;
+        this.stationName = stationName;
+        this.userName = userName;
+    }
+
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -87,4 +121,7 @@ public class BookingDto {
 
     public String getCancellationMessage() { return cancellationMessage; }
     public void setCancellationMessage(String cancellationMessage) { this.cancellationMessage = cancellationMessage; }
-}
\ No newline at end of file
+
+    public LocalDateTime getHoldExpiresAt() { return holdExpiresAt; }
+    public void setHoldExpiresAt(LocalDateTime holdExpiresAt) { this.holdExpiresAt = holdExpiresAt; }
+}
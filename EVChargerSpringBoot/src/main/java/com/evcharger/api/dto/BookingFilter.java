@@ -0,0 +1,39 @@
+package com.evcharger.api.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Optional filters for booking listings. The date range applies to the booking's
+ * creation time, the same column the listings are ordered and paged by.
+ */
+public class BookingFilter {
+    public static final BookingFilter NONE = new BookingFilter(null, null, null, null, null);
+
+    private final String status;
+    private final LocalDate fromDate;
+    private final LocalDate toDate;
+    private final Long stationId;
+    private final String paymentMethod;
+
+    public BookingFilter(String status, LocalDate fromDate, LocalDate toDate, Long stationId, String paymentMethod) {
+        this.status = status;
+        this.fromDate = fromDate;
+        this.toDate = toDate;
+        this.stationId = stationId;
+        this.paymentMethod = paymentMethod;
+    }
+
+    public boolean isEmpty() {
+        return status == null && fromDate == null && toDate == null && stationId == null && paymentMethod == null;
+    }
+
+    public String getStatus() { return status; }
+
+    public LocalDate getFromDate() { return fromDate; }
+
+    public LocalDate getToDate() { return toDate; }
+
+    public Long getStationId() { return stationId; }
+
+    public String getPaymentMethod() { return paymentMethod; }
+}
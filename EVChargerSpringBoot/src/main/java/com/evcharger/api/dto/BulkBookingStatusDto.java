@@ -0,0 +1,25 @@
+package com.evcharger.api.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class BulkBookingStatusDto {
+    @NotEmpty
+    @Size(max = 1000)
+    private List<Long> bookingIds;
+
+    @NotBlank
+    private String status;
+
+    public BulkBookingStatusDto() {}
+
+    // Getters and Setters
+    public List<Long> getBookingIds() { return bookingIds; }
+    public void setBookingIds(List<Long> bookingIds) { this.bookingIds = bookingIds; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+}
@@ -1,6 +1,7 @@
 package com.evcharger.api.dto;
 
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -15,7 +16,7 @@ public class CreateBookingDto {
     @NotNull
     private LocalDateTime endTime;
     
-    @NotNull
+    // Not trusted: bookings are priced server-side from the station tariff
     private BigDecimal amount;
     
     private String date;
@@ -27,8 +28,13 @@ public class CreateBookingDto {
     private String vehicleModel;
     private String vehicleNumber;
     private String paymentId;
+    // A new booking occupies capacity, so it can only start out live
+    @Pattern(regexp = "Confirmed|Pending", message = "Status must be Confirmed or Pending")
     private String status = "Confirmed";
 
+    // Confirms an existing hold instead of reserving capacity again
+    private Long holdId;
+
     public CreateBookingDto() {}
 
     // Getters and Setters
@@ -73,4 +79,7 @@ public class CreateBookingDto {
 
     public String getStatus() { return status; }
     public void setStatus(String status) { this.status = status; }
-}
\ No newline at end of file
+
+    public Long getHoldId() { return holdId; }
+    public void setHoldId(Long holdId) { this.holdId = holdId; }
+}
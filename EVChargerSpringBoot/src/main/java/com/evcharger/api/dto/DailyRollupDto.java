@@ -0,0 +1,43 @@
+package com.evcharger.api.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class DailyRollupDto {
+    private LocalDate day;
+    private long sessions;
+    private long cancellations;
+    private long bookedMinutes;
+    private BigDecimal revenue;
+    // Share of the station's capacity booked that day; only set for a single station
+    private Double utilization;
+
+    public DailyRollupDto() {}
+
+    public DailyRollupDto(LocalDate day, long sessions, long cancellations, long bookedMinutes, BigDecimal revenue) {
+        this.day = day;
+        this.sessions = sessions;
+        this.cancellations = cancellations;
+        this.bookedMinutes = bookedMinutes;
+        this.revenue = revenue;
+    }
+
+    // Getters and Setters
+    public LocalDate getDay() { return day; }
+    public void setDay(LocalDate day) { this.day = day; }
+
+    public long getSessions() { return sessions; }
+    public void setSessions(long sessions) { this.sessions = sessions; }
+
+    public long getCancellations() { return cancellations; }
+    public void setCancellations(long cancellations) { this.cancellations = cancellations; }
+
+    public long getBookedMinutes() { return bookedMinutes; }
+    public void setBookedMinutes(long bookedMinutes) { this.bookedMinutes = bookedMinutes; }
+
+    public BigDecimal getRevenue() { return revenue; }
+    public void setRevenue(BigDecimal revenue) { this.revenue = revenue; }
+
+    public Double getUtilization() { return utilization; }
+    public void setUtilization(Double utilization) { this.utilization = utilization; }
+}
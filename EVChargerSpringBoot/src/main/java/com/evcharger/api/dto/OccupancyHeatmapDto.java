@@ -0,0 +1,30 @@
+package com.evcharger.api.dto;
+
+public class OccupancyHeatmapDto {
+    // Null for the heatmap across all stations
+    private Long stationId;
+    private long capacity;
+    private long weeks;
+    // [day][hour], Monday first: booked charger-minutes summed over all weeks
+    private long[][] bookedMinutes;
+    // [day][hour]: booked share of the capacity available in that hour over the weeks covered
+    private double[][] occupancy;
+
+    public OccupancyHeatmapDto() {}
+
+    // Getters and Setters
+    public Long getStationId() { return stationId; }
+    public void setStationId(Long stationId) { this.stationId = stationId; }
+
+    public long getCapacity() { return capacity; }
+    public void setCapacity(long capacity) { this.capacity = capacity; }
+
+    public long getWeeks() { return weeks; }
+    public void setWeeks(long weeks) { this.weeks = weeks; }
+
+    public long[][] getBookedMinutes() { return bookedMinutes; }
+    public void setBookedMinutes(long[][] bookedMinutes) { this.bookedMinutes = bookedMinutes; }
+
+    public double[][] getOccupancy() { return occupancy; }
+    public void setOccupancy(double[][] occupancy) { this.occupancy = occupancy; }
+}
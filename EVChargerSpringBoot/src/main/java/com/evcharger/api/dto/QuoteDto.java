@@ -0,0 +1,41 @@
+package com.evcharger.api.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class QuoteDto {
+    private Long stationId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private BigDecimal energyKwh;
+    private BigDecimal amount;
+    // Set instead of amount when the option cannot be priced
+    private String error;
+
+    public QuoteDto() {}
+
+    public QuoteDto(Long stationId, LocalDateTime startTime, LocalDateTime endTime) {
+        this.stationId = stationId;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    // Getters and Setters
+    public Long getStationId() { return stationId; }
+    public void setStationId(Long stationId) { this.stationId = stationId; }
+
+    public LocalDateTime getStartTime() { return startTime; }
+    public void setStartTime(LocalDateTime startTime) { this.startTime = startTime; }
+
+    public LocalDateTime getEndTime() { return endTime; }
+    public void setEndTime(LocalDateTime endTime) { this.endTime = endTime; }
+
+    public BigDecimal getEnergyKwh() { return energyKwh; }
+    public void setEnergyKwh(BigDecimal energyKwh) { this.energyKwh = energyKwh; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
@@ -0,0 +1,45 @@
+package com.evcharger.api.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class QuoteRequestDto {
+    @NotEmpty
+    @Size(max = 500)
+    @Valid
+    private List<Option> options;
+
+    public QuoteRequestDto() {}
+
+    public static class Option {
+        @NotNull
+        private Long stationId;
+
+        @NotNull
+        private LocalDateTime startTime;
+
+        @NotNull
+        private LocalDateTime endTime;
+
+        public Option() {}
+
+        // Getters and Setters
+        public Long getStationId() { return stationId; }
+        public void setStationId(Long stationId) { this.stationId = stationId; }
+
+        public LocalDateTime getStartTime() { return startTime; }
+        public void setStartTime(LocalDateTime startTime) { this.startTime = startTime; }
+
+        public LocalDateTime getEndTime() { return endTime; }
+        public void setEndTime(LocalDateTime endTime) { this.endTime = endTime; }
+    }
+
+    // Getters and Setters
+    public List<Option> getOptions() { return options; }
+    public void setOptions(List<Option> options) { this.options = options; }
+}
@@ -0,0 +1,87 @@
+package com.evcharger.api.dto;
+
+import java.time.LocalDateTime;
+
+public class ReviewDto {
+    private Long id;
+    private Long userId;
+    private Long stationId;
+    private Integer rating;
+    private String comment;
+    private LocalDateTime createdAt;
+    private UserInfo user;
+    private StationInfo station;
+
+    public ReviewDto() {}
+
+    // Used by the JPQL constructor projection in ReviewRepository
+    public ReviewDto(Long id, Long userId, Long stationId, Integer rating, String comment, LocalDateTime createdAt,
+                     String userName, String userEmail, String stationName) {
+        this.id = id;
+        this.userId = userId;
+        this.stationId = stationId;
+        this.rating = rating;
+        this.comment = comment;
+        this.createdAt = createdAt;
+        this.user = new UserInfo(userName != null ? userName : "Unknown", userEmail != null ? userEmail : "Unknown");
+        this.station = new StationInfo(stationName != null ? stationName : "Unknown");
+    }
+
+    public static class UserInfo {
+        private String name;
+        private String email;
+
+        public UserInfo() {}
+
+        public UserInfo(String name, String email) {
+            this.name = name;
+            this.email = email;
+        }
+
+        // Getters and Setters
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+
+        public String getEmail() { return email; }
+        public void setEmail(String email) { this.email = email; }
+    }
+
+    public static class StationInfo {
+        private String name;
+
+        public StationInfo() {}
+
+        public StationInfo(String name) {
+            this.name = name;
+        }
+
+        // Getters and Setters
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public Long getStationId() { return stationId; }
+    public void setStationId(Long stationId) { this.stationId = stationId; }
+
+    public Integer getRating() { return rating; }
+    public void setRating(Integer rating) { this.rating = rating; }
+
+    public String getComment() { return comment; }
+    public void setComment(String comment) { this.comment = comment; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public UserInfo getUser() { return user; }
+    public void setUser(UserInfo user) { this.user = user; }
+
+    public StationInfo getStation() { return station; }
+    public void setStation(StationInfo station) { this.station = station; }
+}
@@ -0,0 +1,39 @@
+package com.evcharger.api.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Optional filters for review listings. The rating range is inclusive; the date
+ * range applies to the review's creation time.
+ */
+public class ReviewFilter {
+    public static final ReviewFilter NONE = new ReviewFilter(null, null, null, null, null);
+
+    private final Long stationId;
+    private final Integer minRating;
+    private final Integer maxRating;
+    private final LocalDate fromDate;
+    private final LocalDate toDate;
+
+    public ReviewFilter(Long stationId, Integer minRating, Integer maxRating, LocalDate fromDate, LocalDate toDate) {
+        this.stationId = stationId;
+        this.minRating = minRating;
+        this.maxRating = maxRating;
+        this.fromDate = fromDate;
+        this.toDate = toDate;
+    }
+
+    public boolean isEmpty() {
+        return stationId == null && minRating == null && maxRating == null && fromDate == null && toDate == null;
+    }
+
+    public Long getStationId() { return stationId; }
+
+    public Integer getMinRating() { return minRating; }
+
+    public Integer getMaxRating() { return maxRating; }
+
+    public LocalDate getFromDate() { return fromDate; }
+
+    public LocalDate getToDate() { return toDate; }
+}
@@ -0,0 +1,44 @@
+package com.evcharger.api.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+
+import java.math.BigDecimal;
+
+public class RouteSearchDto {
+    @NotBlank
+    private String polyline;
+
+    @Positive
+    private double corridorKm = 2;
+
+    private int limit = 100;
+    private String[] connectorTypes;
+    private Double minPower;
+    private BigDecimal maxPrice;
+    private String[] amenities;
+
+    public RouteSearchDto() {}
+
+    // Getters and Setters
+    public String getPolyline() { return polyline; }
+    public void setPolyline(String polyline) { this.polyline = polyline; }
+
+    public double getCorridorKm() { return corridorKm; }
+    public void setCorridorKm(double corridorKm) { this.corridorKm = corridorKm; }
+
+    public int getLimit() { return limit; }
+    public void setLimit(int limit) { this.limit = limit; }
+
+    public String[] getConnectorTypes() { return connectorTypes; }
+    public void setConnectorTypes(String[] connectorTypes) { this.connectorTypes = connectorTypes; }
+
+    public Double getMinPower() { return minPower; }
+    public void setMinPower(Double minPower) { this.minPower = minPower; }
+
+    public BigDecimal getMaxPrice() { return maxPrice; }
+    public void setMaxPrice(BigDecimal maxPrice) { this.maxPrice = maxPrice; }
+
+    public String[] getAmenities() { return amenities; }
+    public void setAmenities(String[] amenities) { this.amenities = amenities; }
+}
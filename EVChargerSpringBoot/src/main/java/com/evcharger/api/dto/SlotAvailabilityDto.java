@@ -0,0 +1,27 @@
+package com.evcharger.api.dto;
+
+import java.time.LocalDateTime;
+
+public class SlotAvailabilityDto {
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private int freeSlots;
+
+    public SlotAvailabilityDto() {}
+
+    public SlotAvailabilityDto(LocalDateTime start, LocalDateTime end, int freeSlots) {
+        this.start = start;
+        this.end = end;
+        this.freeSlots = freeSlots;
+    }
+
+    // Getters and Setters
+    public LocalDateTime getStart() { return start; }
+    public void setStart(LocalDateTime start) { this.start = start; }
+
+    public LocalDateTime getEnd() { return end; }
+    public void setEnd(LocalDateTime end) { this.end = end; }
+
+    public int getFreeSlots() { return freeSlots; }
+    public void setFreeSlots(int freeSlots) { this.freeSlots = freeSlots; }
+}
@@ -0,0 +1,35 @@
+package com.evcharger.api.dto;
+
+public class StationClusterDto {
+    private String geohash;
+    private long count;
+    private double latitude;
+    private double longitude;
+    private long availableSlots;
+
+    public StationClusterDto() {}
+
+    public StationClusterDto(String geohash, long count, double latitude, double longitude, long availableSlots) {
+        this.geohash = geohash;
+        this.count = count;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.availableSlots = availableSlots;
+    }
+
+    // Getters and Setters
+    public String getGeohash() { return geohash; }
+    public void setGeohash(String geohash) { this.geohash = geohash; }
+
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+
+    public double getLatitude() { return latitude; }
+    public void setLatitude(double latitude) { this.latitude = latitude; }
+
+    public double getLongitude() { return longitude; }
+    public void setLongitude(double longitude) { this.longitude = longitude; }
+
+    public long getAvailableSlots() { return availableSlots; }
+    public void setAvailableSlots(long availableSlots) { this.availableSlots = availableSlots; }
+}
@@ -29,8 +29,11 @@ public class StationDto {
     private Integer totalSlots;
     private Integer availableSlots;
     private Double distance;
+    private Double distanceAlongRoute;
     private String ownerName;
     private String approvalStatus;
+    private Double ratingAverage;
+    private Long ratingCount;
 
     public StationDto() {}
 
@@ -77,9 +80,18 @@ public class StationDto {
     public Double getDistance() { return distance; }
     public void setDistance(Double distance) { this.distance = distance; }
 
+    public Double getDistanceAlongRoute() { return distanceAlongRoute; }
+    public void setDistanceAlongRoute(Double distanceAlongRoute) { this.distanceAlongRoute = distanceAlongRoute; }
+
     public String getOwnerName() { return ownerName; }
     public void setOwnerName(String ownerName) { this.ownerName = ownerName; }
 
     public String getApprovalStatus() { return approvalStatus; }
     public void setApprovalStatus(String approvalStatus) { this.approvalStatus = approvalStatus; }
+
+    public Double getRatingAverage() { return ratingAverage; }
+    public void setRatingAverage(Double ratingAverage) { this.ratingAverage = ratingAverage; }
+
+    public Long getRatingCount() { return ratingCount; }
+    public void setRatingCount(Long ratingCount) { this.ratingCount = ratingCount; }
 }
\ No newline at end of file
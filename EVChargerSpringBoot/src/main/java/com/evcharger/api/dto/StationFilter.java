@@ -0,0 +1,60 @@
+package com.evcharger.api.dto;
+
+import com.evcharger.api.entity.Station;
+import com.evcharger.api.util.StationAttributes;
+
+import java.math.BigDecimal;
+
+/**
+ * Optional attribute filters for station searches. Connector and amenity
+ * filters are resolved to bitmasks up front so matching a station is a pair
+ * of ANDs, with no JSON parsing.
+ */
+public class StationFilter {
+    public static final StationFilter NONE = new StationFilter(null, null, null, null);
+
+    private final long connectorMask;
+    private final long amenityMask;
+    private final Double minPowerKw;
+    private final BigDecimal maxPrice;
+
+    public StationFilter(String[] connectors, Double minPowerKw, BigDecimal maxPrice, String[] amenities) {
+        this.connectorMask = StationAttributes.requiredConnectorMask(connectors);
+        this.amenityMask = StationAttributes.requiredAmenityMask(amenities);
+        this.minPowerKw = minPowerKw;
+        this.maxPrice = maxPrice;
+    }
+
+    public boolean isEmpty() {
+        return connectorMask == 0 && amenityMask == 0 && minPowerKw == null && maxPrice == null;
+    }
+
+    public boolean matches(Station station) {
+        return matches(
+                station.getConnectorMask() != null ? station.getConnectorMask() : 0L,
+                station.getAmenityMask() != null ? station.getAmenityMask() : 0L,
+                station.getPowerKw() != null ? station.getPowerKw() : Double.NaN,
+                station.getPricePerKwh() != null ? station.getPricePerKwh().doubleValue() : Double.NaN);
+    }
+
+    public boolean matches(StationRow row) {
+        return matches(
+                row.getConnectorMask() != null ? row.getConnectorMask() : 0L,
+                row.getAmenityMask() != null ? row.getAmenityMask() : 0L,
+                row.getPowerKw() != null ? row.getPowerKw() : Double.NaN,
+                row.getPricePerKwh() != null ? row.getPricePerKwh().doubleValue() : Double.NaN);
+    }
+
+    /** Primitive form used by the in-memory snapshot; NaN means "unknown". */
+    public boolean matches(long stationConnectors, long stationAmenities, double powerKw, double pricePerKwh) {
+        if ((stationConnectors & connectorMask) != connectorMask) return false;
+        if ((stationAmenities & amenityMask) != amenityMask) return false;
+        if (minPowerKw != null && !(powerKw >= minPowerKw)) return false;
+        if (maxPrice != null && !(pricePerKwh <= maxPrice.doubleValue())) return false;
+        return true;
+    }
+
+    public Double getMinPowerKw() { return minPowerKw; }
+
+    public BigDecimal getMaxPrice() { return maxPrice; }
+}
@@ -0,0 +1,93 @@
+package com.evcharger.api.dto;
+
+import com.evcharger.api.entity.Station;
+
+import java.math.BigDecimal;
+
+/**
+ * Flat, read-only view of the station columns behind a StationDto, filled by the
+ * JPQL constructor projections in StationRepository. Connector types and amenities
+ * are still the stored JSON strings; StationService parses them into the DTO.
+ */
+public class StationRow {
+    private final Long id;
+    private final String name;
+    private final String address;
+    private final Double latitude;
+    private final Double longitude;
+    private final String connectorTypes;
+    private final String powerOutput;
+    private final BigDecimal pricePerKwh;
+    private final String amenities;
+    private final String operatingHours;
+    private final String status;
+    private final Integer totalSlots;
+    private final Integer availableSlots;
+    private final String approvalStatus;
+    private final String ownerName;
+    private final Long connectorMask;
+    private final Long amenityMask;
+    private final Double powerKw;
+    private final Long ratingSum;
+    private final Long ratingCount;
+
+    public StationRow(Long id, String name, String address, Double latitude, Double longitude,
+                      String connectorTypes, String powerOutput, BigDecimal pricePerKwh, String amenities,
+                      String operatingHours, String status, Integer totalSlots, Integer availableSlots,
+                      String approvalStatus, String ownerName, Long connectorMask, Long amenityMask, Double powerKw,
+                      Long ratingSum, Long ratingCount) {
+        this.id = id;
+        this.name = name;
+        this.address = address;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.connectorTypes = connectorTypes;
+        this.powerOutput = powerOutput;
+        this.pricePerKwh = pricePerKwh;
+        this.amenities = amenities;
+        this.operatingHours = operatingHours;
+        this.status = status;
+        this.totalSlots = totalSlots;
+        this.availableSlots = availableSlots;
+        this.approvalStatus = approvalStatus;
+        this.ownerName = ownerName;
+        this.connectorMask = connectorMask;
+        this.amenityMask = amenityMask;
+        this.powerKw = powerKw;
+        this.ratingSum = ratingSum;
+        this.ratingCount = ratingCount;
+    }
+
+    public static StationRow of(Station station) {
+        return new StationRow(station.getId(), station.getName(), station.getAddress(),
+                station.getLatitude(), station.getLongitude(), station.getConnectorTypes(),
+                station.getPowerOutput(), station.getPricePerKwh(), station.getAmenities(),
+                station.getOperatingHours(), station.getStatus(), station.getTotalSlots(),
+                station.getAvailableSlots(), station.getApprovalStatus(),
+                station.getStationMaster() != null ? station.getStationMaster().getName() : null,
+                station.getConnectorMask(), station.getAmenityMask(), station.getPowerKw(),
+                station.getRatingSum(), station.getRatingCount());
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public String getName() { return name; }
+    public String getAddress() { return address; }
+    public Double getLatitude() { return latitude; }
+    public Double getLongitude() { return longitude; }
+    public String getConnectorTypes() { return connectorTypes; }
+    public String getPowerOutput() { return powerOutput; }
+    public BigDecimal getPricePerKwh() { return pricePerKwh; }
+    public String getAmenities() { return amenities; }
+    public String getOperatingHours() { return operatingHours; }
+    public String getStatus() { return status; }
+    public Integer getTotalSlots() { return totalSlots; }
+    public Integer getAvailableSlots() { return availableSlots; }
+    public String getApprovalStatus() { return approvalStatus; }
+    public String getOwnerName() { return ownerName; }
+    public Long getConnectorMask() { return connectorMask; }
+    public Long getAmenityMask() { return amenityMask; }
+    public Double getPowerKw() { return powerKw; }
+    public Long getRatingSum() { return ratingSum; }
+    public Long getRatingCount() { return ratingCount; }
+}
@@ -0,0 +1,46 @@
+package com.evcharger.api.dto;
+
+import java.time.LocalDateTime;
+
+public class WaitlistEntryDto {
+    private Long id;
+    private Long stationId;
+    private LocalDateTime startTime;
+    private LocalDateTime endTime;
+    private String status;
+    // 1-based place in the station's queue, only while waiting
+    private Long position;
+    private Long bookingId;
+    private LocalDateTime createdAt;
+    private LocalDateTime promotedAt;
+
+    public WaitlistEntryDto() {}
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getStationId() { return stationId; }
+    public void setStationId(Long stationId) { this.stationId = stationId; }
+
+    public LocalDateTime getStartTime() { return startTime; }
+    public void setStartTime(LocalDateTime startTime) { this.startTime = startTime; }
+
+    public LocalDateTime getEndTime() { return endTime; }
+    public void setEndTime(LocalDateTime endTime) { this.endTime = endTime; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public Long getPosition() { return position; }
+    public void setPosition(Long position) { this.position = position; }
+
+    public Long getBookingId() { return bookingId; }
+    public void setBookingId(Long bookingId) { this.bookingId = bookingId; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getPromotedAt() { return promotedAt; }
+    public void setPromotedAt(LocalDateTime promotedAt) { this.promotedAt = promotedAt; }
+}
@@ -2,12 +2,29 @@ package com.evcharger.api.entity;
 
 import jakarta.persistence.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "Bookings")
+@Table(name = "Bookings",
+    uniqueConstraints = {
+        // Retried creates with the same key hit this constraint instead of inserting twice
+        @UniqueConstraint(name = "UX_Bookings_idempotencyKey", columnNames = "idempotencyKey")
+    },
+    indexes = {
+        @Index(name = "IX_Bookings_UserId_createdAt", columnList = "UserId, createdAt"),
+        @Index(name = "IX_Bookings_StationId_createdAt", columnList = "StationId, createdAt"),
+        @Index(name = "IX_Bookings_createdAt", columnList = "createdAt"),
+        // Rollup jobs pick up bookings changed since their watermark
+        @Index(name = "IX_Bookings_updatedAt", columnList = "updatedAt"),
+        @Index(name = "IX_Bookings_StationId_startTime", columnList = "StationId, startTime"),
+        // Lets the hold sweeper find expired holds without scanning the table
+        @Index(name = "IX_Bookings_status_holdExpiresAt", columnList = "status, holdExpiresAt"),
+        // Covers the dashboard's count and revenue per status
+        @Index(name = "IX_Bookings_status_amount", columnList = "status, amount")
+    })
 public class Booking {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -26,9 +43,19 @@ public class Booking {
     @Column(precision = 18, scale = 2)
     private BigDecimal amount;
 
+    // Whether the booking's intervals are counted in StationSlots; null for bookings made
+    // before the calendar existed, until SlotCalendarService backfills the live ones, and
+    // false once they have been released. Changed only by bulk UPDATEs.
+    @Column(updatable = false)
+    private Boolean slotsReserved;
+
     @CreationTimestamp
     private LocalDateTime createdAt;
 
+    // Bulk JPQL updates bypass @UpdateTimestamp and must set this themselves
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
     // New fields for complete booking info
     private String date;
     private String timeSlot;
@@ -41,6 +68,17 @@ public class Booking {
     private String paymentId;
     private String cancellationMessage;
 
+    // Set while status is "Held": capacity is reserved until this time
+    private LocalDateTime holdExpiresAt;
+
+    // "<userId>:<Idempotency-Key or paymentId>" of the request that created the booking
+    @Column(length = 191)
+    private String idempotencyKey;
+
+    // SHA-256 of the create request, so a reused key with a different body is rejected
+    @Column(length = 64)
+    private String requestHash;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "UserId", insertable = false, updatable = false)
     private User user;
@@ -85,6 +123,9 @@ public class Booking {
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+
     public String getDate() { return date; }
     public void setDate(String date) { this.date = date; }
 
@@ -115,6 +156,18 @@ public class Booking {
     public String getCancellationMessage() { return cancellationMessage; }
     public void setCancellationMessage(String cancellationMessage) { this.cancellationMessage = cancellationMessage; }
 
+    public Boolean getSlotsReserved() { return slotsReserved; }
+    public void setSlotsReserved(Boolean slotsReserved) { this.slotsReserved = slotsReserved; }
+
+    public LocalDateTime getHoldExpiresAt() { return holdExpiresAt; }
+    public void setHoldExpiresAt(LocalDateTime holdExpiresAt) { this.holdExpiresAt = holdExpiresAt; }
+
+    public String getIdempotencyKey() { return idempotencyKey; }
+    public void setIdempotencyKey(String idempotencyKey) { this.idempotencyKey = idempotencyKey; }
+
+    public String getRequestHash() { return requestHash; }
+    public void setRequestHash(String requestHash) { this.requestHash = requestHash; }
+
     public User getUser() { return user; }
     public void setUser(User user) { this.user = user; }
 
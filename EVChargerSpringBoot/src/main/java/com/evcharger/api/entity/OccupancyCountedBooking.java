@@ -0,0 +1,27 @@
+package com.evcharger.api.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * A booking whose minutes are currently included in {@code StationOccupancyCells}.
+ * Written only by {@code OccupancyHeatmapService}, so request paths that save a
+ * booking can never put back a stale value.
+ */
+@Entity
+@Table(name = "OccupancyCountedBookings")
+public class OccupancyCountedBooking {
+    @Id
+    @Column(name = "BookingId")
+    private Long bookingId;
+
+    // Constructors
+    public OccupancyCountedBooking() {}
+
+    public OccupancyCountedBooking(Long bookingId) {
+        this.bookingId = bookingId;
+    }
+
+    // Getters and Setters
+    public Long getBookingId() { return bookingId; }
+    public void setBookingId(Long bookingId) { this.bookingId = bookingId; }
+}
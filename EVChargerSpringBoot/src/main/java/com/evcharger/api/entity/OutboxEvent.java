@@ -0,0 +1,97 @@
+package com.evcharger.api.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A domain event written in the same transaction as the change it describes and
+ * delivered to in-process listeners afterwards by the outbox relay.
+ */
+@Entity
+@Table(name = "OutboxEvents",
+       // The relay reads pending events in id order
+       indexes = @Index(name = "IX_OutboxEvents_status_id", columnList = "status, id"))
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // "Booking" or "Station"
+    @Column(nullable = false, length = 32)
+    private String aggregateType;
+
+    @Column(nullable = false)
+    private Long aggregateId;
+
+    // Events of one station are delivered in the order they were written
+    @Column(name = "StationId")
+    private Long stationId;
+
+    @Column(nullable = false, length = 64)
+    private String eventType;
+
+    @Column(columnDefinition = "TEXT")
+    private String payload;
+
+    // Pending, Dispatched or Failed
+    @Column(nullable = false, length = 16)
+    private String status = "Pending";
+
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    private LocalDateTime processedAt;
+
+    // Constructors
+    public OutboxEvent() {}
+
+    public OutboxEvent(String aggregateType, Long aggregateId, Long stationId, String eventType, String payload) {
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.stationId = stationId;
+        this.eventType = eventType;
+        this.payload = payload;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public String getAggregateType() { return aggregateType; }
+    public void setAggregateType(String aggregateType) { this.aggregateType = aggregateType; }
+
+    public Long getAggregateId() { return aggregateId; }
+    public void setAggregateId(Long aggregateId) { this.aggregateId = aggregateId; }
+
+    public Long getStationId() { return stationId; }
+    public void setStationId(Long stationId) { this.stationId = stationId; }
+
+    public String getEventType() { return eventType; }
+    public void setEventType(String eventType) { this.eventType = eventType; }
+
+    public String getPayload() { return payload; }
+    public void setPayload(String payload) { this.payload = payload; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public Integer getAttempts() { return attempts; }
+    public void setAttempts(Integer attempts) { this.attempts = attempts; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getProcessedAt() { return processedAt; }
+    public void setProcessedAt(LocalDateTime processedAt) { this.processedAt = processedAt; }
+}
@@ -6,7 +6,11 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "Reviews")
+@Table(name = "Reviews", indexes = {
+    @Index(name = "IX_Reviews_StationId_rating", columnList = "StationId, rating"),
+    @Index(name = "IX_Reviews_rating", columnList = "rating"),
+    @Index(name = "IX_Reviews_UserId", columnList = "UserId")
+})
 public class Review {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
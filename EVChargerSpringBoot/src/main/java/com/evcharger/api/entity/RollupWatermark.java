@@ -0,0 +1,30 @@
+package com.evcharger.api.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/** How far an incremental rollup job has processed {@code Booking.updatedAt}. */
+@Entity
+@Table(name = "RollupWatermarks")
+public class RollupWatermark {
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    private LocalDateTime watermark;
+
+    // Constructors
+    public RollupWatermark() {}
+
+    public RollupWatermark(String name) {
+        this.name = name;
+    }
+
+    // Getters and Setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public LocalDateTime getWatermark() { return watermark; }
+    public void setWatermark(LocalDateTime watermark) { this.watermark = watermark; }
+}
@@ -1,5 +1,6 @@
 package com.evcharger.api.entity;
 
+import com.evcharger.api.util.GeoHash;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -12,7 +13,12 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "Stations")
+@Table(name = "Stations", indexes = {
+    @Index(name = "IX_Stations_geohash", columnList = "geohash"),
+    @Index(name = "IX_Stations_status_approvalStatus", columnList = "status, approvalStatus"),
+    @Index(name = "IX_Stations_approvalStatus", columnList = "approvalStatus"),
+    @Index(name = "IX_Stations_station_master_id", columnList = "station_master_id")
+})
 public class Station {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -30,6 +36,9 @@ public class Station {
     @NotNull
     private Double longitude;
 
+    @Column(length = 12)
+    private String geohash; // Derived from latitude/longitude, kept in sync on save
+
     @Column(columnDefinition = "TEXT")
     private String connectorTypes; // JSON array as string
 
@@ -41,6 +50,11 @@ public class Station {
     @Column(columnDefinition = "TEXT")
     private String amenities; // JSON array as string
 
+    // Search index derived from connectorTypes/amenities/powerOutput, see StationAttributes
+    private Long connectorMask;
+    private Long amenityMask;
+    private Double powerKw;
+
     private String operatingHours;
 
     @NotBlank
@@ -51,6 +65,13 @@ public class Station {
     private Integer totalSlots;
     private Integer availableSlots;
 
+    // Review totals, changed only by atomic updates in StationRepository; entity saves leave them alone
+    @Column(insertable = false, updatable = false)
+    private Long ratingSum;
+
+    @Column(insertable = false, updatable = false)
+    private Long ratingCount;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "station_master_id")
     private User stationMaster;
@@ -77,6 +98,14 @@ public class Station {
         this.longitude = longitude;
     }
 
+    @PrePersist
+    @PreUpdate
+    public void updateGeohash() {
+        if (latitude != null && longitude != null) {
+            this.geohash = GeoHash.encode(latitude, longitude);
+        }
+    }
+
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -93,6 +122,9 @@ public class Station {
     public Double getLongitude() { return longitude; }
     public void setLongitude(Double longitude) { this.longitude = longitude; }
 
+    public String getGeohash() { return geohash; }
+    public void setGeohash(String geohash) { this.geohash = geohash; }
+
     public String getConnectorTypes() { return connectorTypes; }
     public void setConnectorTypes(String connectorTypes) { this.connectorTypes = connectorTypes; }
 
@@ -105,6 +137,15 @@ public class Station {
     public String getAmenities() { return amenities; }
     public void setAmenities(String amenities) { this.amenities = amenities; }
 
+    public Long getConnectorMask() { return connectorMask; }
+    public void setConnectorMask(Long connectorMask) { this.connectorMask = connectorMask; }
+
+    public Long getAmenityMask() { return amenityMask; }
+    public void setAmenityMask(Long amenityMask) { this.amenityMask = amenityMask; }
+
+    public Double getPowerKw() { return powerKw; }
+    public void setPowerKw(Double powerKw) { this.powerKw = powerKw; }
+
     public String getOperatingHours() { return operatingHours; }
     public void setOperatingHours(String operatingHours) { this.operatingHours = operatingHours; }
 
@@ -120,6 +161,12 @@ public class Station {
     public Integer getAvailableSlots() { return availableSlots; }
     public void setAvailableSlots(Integer availableSlots) { this.availableSlots = availableSlots; }
 
+    public Long getRatingSum() { return ratingSum; }
+    public void setRatingSum(Long ratingSum) { this.ratingSum = ratingSum; }
+
+    public Long getRatingCount() { return ratingCount; }
+    public void setRatingCount(Long ratingCount) { this.ratingCount = ratingCount; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
@@ -0,0 +1,78 @@
+package com.evcharger.api.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Booking totals of one station for one day, attributed to the day each booking
+ * starts. Maintained by {@code StationRollupService}; never written by requests.
+ */
+@Entity
+@Table(name = "StationDailyRollups",
+       uniqueConstraints = @UniqueConstraint(name = "UX_StationDailyRollups_station_day",
+               columnNames = {"StationId", "day"}),
+       // Cross-station totals for a date range
+       indexes = @Index(name = "IX_StationDailyRollups_day", columnList = "day"))
+public class StationDailyRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "StationId", nullable = false)
+    private Long stationId;
+
+    @Column(nullable = false)
+    private LocalDate day;
+
+    // Confirmed and completed bookings
+    @Column(nullable = false)
+    private Integer sessions = 0;
+
+    @Column(nullable = false)
+    private Integer cancellations = 0;
+
+    // Booked charging time of the sessions
+    @Column(nullable = false)
+    private Long bookedMinutes = 0L;
+
+    @Column(nullable = false, precision = 18, scale = 2)
+    private BigDecimal revenue = BigDecimal.ZERO;
+
+    private LocalDateTime refreshedAt;
+
+    // Constructors
+    public StationDailyRollup() {}
+
+    public StationDailyRollup(Long stationId, LocalDate day) {
+        this.stationId = stationId;
+        this.day = day;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getStationId() { return stationId; }
+    public void setStationId(Long stationId) { this.stationId = stationId; }
+
+    public LocalDate getDay() { return day; }
+    public void setDay(LocalDate day) { this.day = day; }
+
+    public Integer getSessions() { return sessions; }
+    public void setSessions(Integer sessions) { this.sessions = sessions; }
+
+    public Integer getCancellations() { return cancellations; }
+    public void setCancellations(Integer cancellations) { this.cancellations = cancellations; }
+
+    public Long getBookedMinutes() { return bookedMinutes; }
+    public void setBookedMinutes(Long bookedMinutes) { this.bookedMinutes = bookedMinutes; }
+
+    public BigDecimal getRevenue() { return revenue; }
+    public void setRevenue(BigDecimal revenue) { this.revenue = revenue; }
+
+    public LocalDateTime getRefreshedAt() { return refreshedAt; }
+    public void setRefreshedAt(LocalDateTime refreshedAt) { this.refreshedAt = refreshedAt; }
+}
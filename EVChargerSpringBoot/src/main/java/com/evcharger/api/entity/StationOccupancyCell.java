@@ -0,0 +1,48 @@
+package com.evcharger.api.entity;
+
+import jakarta.persistence.*;
+
+/**
+ * Booked charger-minutes of one station in one hour of the week, summed over all
+ * weeks. Hour 0 is Monday 00:00-01:00 and hour 167 is Sunday 23:00-24:00.
+ * Maintained incrementally by {@code OccupancyHeatmapService}.
+ */
+@Entity
+@Table(name = "StationOccupancyCells",
+       uniqueConstraints = @UniqueConstraint(name = "UX_StationOccupancyCells_station_hour",
+               columnNames = {"StationId", "hourOfWeek"}))
+public class StationOccupancyCell {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "StationId", nullable = false)
+    private Long stationId;
+
+    @Column(nullable = false)
+    private Integer hourOfWeek;
+
+    @Column(nullable = false)
+    private Long bookedMinutes = 0L;
+
+    // Constructors
+    public StationOccupancyCell() {}
+
+    public StationOccupancyCell(Long stationId, Integer hourOfWeek) {
+        this.stationId = stationId;
+        this.hourOfWeek = hourOfWeek;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getStationId() { return stationId; }
+    public void setStationId(Long stationId) { this.stationId = stationId; }
+
+    public Integer getHourOfWeek() { return hourOfWeek; }
+    public void setHourOfWeek(Integer hourOfWeek) { this.hourOfWeek = hourOfWeek; }
+
+    public Long getBookedMinutes() { return bookedMinutes; }
+    public void setBookedMinutes(Long bookedMinutes) { this.bookedMinutes = bookedMinutes; }
+}
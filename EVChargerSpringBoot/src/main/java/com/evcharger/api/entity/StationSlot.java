@@ -0,0 +1,58 @@
+package com.evcharger.api.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+
+/**
+ * Occupancy of one fixed-length interval of one station-day. A row only exists
+ * once something has been booked in the interval; a missing row means nothing is booked.
+ */
+@Entity
+@Table(name = "StationSlots",
+       uniqueConstraints = @UniqueConstraint(name = "UX_StationSlots_station_day_slot",
+               columnNames = {"StationId", "slotDate", "slotIndex"}),
+       // The interval roll-over looks up one interval across all stations
+       indexes = @Index(name = "IX_StationSlots_day_slot", columnList = "slotDate, slotIndex"))
+public class StationSlot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "StationId", nullable = false)
+    private Long stationId;
+
+    @Column(nullable = false)
+    private LocalDate slotDate;
+
+    @Column(nullable = false)
+    private Integer slotIndex;
+
+    @Column(nullable = false)
+    private Integer booked = 0;
+
+    // Constructors
+    public StationSlot() {}
+
+    public StationSlot(Long stationId, LocalDate slotDate, Integer slotIndex) {
+        this.stationId = stationId;
+        this.slotDate = slotDate;
+        this.slotIndex = slotIndex;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getStationId() { return stationId; }
+    public void setStationId(Long stationId) { this.stationId = stationId; }
+
+    public LocalDate getSlotDate() { return slotDate; }
+    public void setSlotDate(LocalDate slotDate) { this.slotDate = slotDate; }
+
+    public Integer getSlotIndex() { return slotIndex; }
+    public void setSlotIndex(Integer slotIndex) { this.slotIndex = slotIndex; }
+
+    public Integer getBooked() { return booked; }
+    public void setBooked(Integer booked) { this.booked = booked; }
+}
@@ -0,0 +1,87 @@
+package com.evcharger.api.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * A user waiting for capacity at a full station for a given time window.
+ * Entries are served first in, first out by id. The station is referenced by id
+ * only, without a foreign key, so a burst of joins is a burst of plain inserts
+ * and never locks the station row.
+ */
+@Entity
+@Table(name = "WaitlistEntries",
+       indexes = {
+           // Promotion walks one station's waiting entries in id order
+           @Index(name = "IX_WaitlistEntries_station_status_id", columnList = "StationId, status, id"),
+           @Index(name = "IX_WaitlistEntries_UserId", columnList = "UserId")
+       })
+public class WaitlistEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "StationId", nullable = false)
+    private Long stationId;
+
+    @Column(name = "UserId", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private LocalDateTime startTime;
+
+    @Column(nullable = false)
+    private LocalDateTime endTime;
+
+    // Waiting, Promoted, Left or Lapsed
+    @Column(nullable = false)
+    private String status = "Waiting";
+
+    // The hold created on promotion
+    private Long bookingId;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    private LocalDateTime promotedAt;
+
+    // Constructors
+    public WaitlistEntry() {}
+
+    public WaitlistEntry(Long userId, Long stationId, LocalDateTime startTime, LocalDateTime endTime) {
+        this.userId = userId;
+        this.stationId = stationId;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getStationId() { return stationId; }
+    public void setStationId(Long stationId) { this.stationId = stationId; }
+
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public LocalDateTime getStartTime() { return startTime; }
+    public void setStartTime(LocalDateTime startTime) { this.startTime = startTime; }
+
+    public LocalDateTime getEndTime() { return endTime; }
+    public void setEndTime(LocalDateTime endTime) { this.endTime = endTime; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public Long getBookingId() { return bookingId; }
+    public void setBookingId(Long bookingId) { this.bookingId = bookingId; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getPromotedAt() { return promotedAt; }
+    public void setPromotedAt(LocalDateTime promotedAt) { this.promotedAt = promotedAt; }
+}
@@ -0,0 +1,38 @@
+package com.evcharger.api.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * An outbox event as delivered to in-process listeners. Delivery is at least
+ * once, so listeners must tolerate seeing the same {@link #getId} again; events
+ * of one station arrive in the order they were written.
+ */
+public class DomainEvent {
+    private final Long id;
+    private final String aggregateType;
+    private final Long aggregateId;
+    private final Long stationId;
+    private final String eventType;
+    private final String payload;
+    private final LocalDateTime createdAt;
+
+    public DomainEvent(Long id, String aggregateType, Long aggregateId, Long stationId, String eventType,
+                       String payload, LocalDateTime createdAt) {
+        this.id = id;
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.stationId = stationId;
+        this.eventType = eventType;
+        this.payload = payload;
+        this.createdAt = createdAt;
+    }
+
+    // Getters
+    public Long getId() { return id; }
+    public String getAggregateType() { return aggregateType; }
+    public Long getAggregateId() { return aggregateId; }
+    public Long getStationId() { return stationId; }
+    public String getEventType() { return eventType; }
+    public String getPayload() { return payload; }
+    public LocalDateTime getCreatedAt() { return createdAt; }
+}
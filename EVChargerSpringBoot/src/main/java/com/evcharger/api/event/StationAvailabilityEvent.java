@@ -0,0 +1,47 @@
+package com.evcharger.api.event;
+
+import com.evcharger.api.entity.Station;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published whenever a station's free slot count or status changes.
+ * Serialized as-is to subscribers of the availability stream.
+ */
+public class StationAvailabilityEvent {
+    private final Long stationId;
+    private final Integer availableSlots;
+    private final Integer totalSlots;
+    private final String status;
+    private final Double latitude;
+    private final Double longitude;
+    private final String geohash;
+    private final LocalDateTime timestamp;
+
+    public StationAvailabilityEvent(Long stationId, Integer availableSlots, Integer totalSlots, String status,
+                                    Double latitude, Double longitude, String geohash) {
+        this.stationId = stationId;
+        this.availableSlots = availableSlots;
+        this.totalSlots = totalSlots;
+        this.status = status;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.geohash = geohash;
+        this.timestamp = LocalDateTime.now();
+    }
+
+    public static StationAvailabilityEvent of(Station station) {
+        return new StationAvailabilityEvent(station.getId(), station.getAvailableSlots(), station.getTotalSlots(),
+                station.getStatus(), station.getLatitude(), station.getLongitude(), station.getGeohash());
+    }
+
+    // Getters
+    public Long getStationId() { return stationId; }
+    public Integer getAvailableSlots() { return availableSlots; }
+    public Integer getTotalSlots() { return totalSlots; }
+    public String getStatus() { return status; }
+    public Double getLatitude() { return latitude; }
+    public Double getLongitude() { return longitude; }
+    public String getGeohash() { return geohash; }
+    public LocalDateTime getTimestamp() { return timestamp; }
+}
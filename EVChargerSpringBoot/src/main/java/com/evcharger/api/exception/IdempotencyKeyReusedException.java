@@ -0,0 +1,11 @@
+package com.evcharger.api.exception;
+
+/**
+ * An idempotency key was sent again with a different request body than the one
+ * that created its booking.
+ */
+public class IdempotencyKeyReusedException extends RuntimeException {
+    public IdempotencyKeyReusedException(String message) {
+        super(message);
+    }
+}
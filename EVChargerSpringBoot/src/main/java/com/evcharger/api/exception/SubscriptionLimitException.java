@@ -0,0 +1,18 @@
+package com.evcharger.api.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * A streaming subscription was refused because the server or the client already
+ * holds as many open connections as it is allowed.
+ */
+public class SubscriptionLimitException extends RuntimeException {
+    private final HttpStatus status;
+
+    public SubscriptionLimitException(HttpStatus status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public HttpStatus getStatus() { return status; }
+}
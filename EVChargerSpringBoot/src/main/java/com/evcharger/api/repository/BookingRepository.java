@@ -1,24 +1,142 @@
 package com.evcharger.api.repository;
 
+import com.evcharger.api.dto.BookingDto;
 import com.evcharger.api.entity.Booking;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
+    // Constructor projection for list reads: only the DTO columns, no managed entities
+    String BOOKING_DTO_SELECT = "SELECT new com.evcharger.api.dto.BookingDto(b.id, b.userId, b.stationId, "
+            + "b.startTime, b.endTime, b.status, b.amount, b.date, b.timeSlot, b.duration, b.paymentMethod, "
+            + "b.vehicleType, b.vehicleBrand, b.vehicleModel, b.vehicleNumber, b.paymentId, b.createdAt, "
+            + "b.cancellationMessage, b.holdExpiresAt, s.name, u.name) "
+            + "FROM Booking b JOIN b.station s JOIN b.user u";
+
     List<Booking> findByUserId(Long userId);
     List<Booking> findByStationId(Long stationId);
-    
-    @Query("SELECT b FROM Booking b JOIN FETCH b.station JOIN FETCH b.user")
-    List<Booking> findAllWithStationAndUser();
-    
-    @Query("SELECT b FROM Booking b JOIN FETCH b.station WHERE b.userId = :userId")
-    List<Booking> findByUserIdWithStation(@Param("userId") Long userId);
-    
-    @Query("SELECT b FROM Booking b JOIN FETCH b.user WHERE b.stationId = :stationId")
-    List<Booking> findByStationIdWithUser(@Param("stationId") Long stationId);
-}
\ No newline at end of file
+
+    @Query(BOOKING_DTO_SELECT + " WHERE b.idempotencyKey = :idempotencyKey")
+    Optional<BookingDto> findDtoByIdempotencyKey(@Param("idempotencyKey") String idempotencyKey);
+
+    @Query("SELECT b.requestHash FROM Booking b WHERE b.idempotencyKey = :idempotencyKey")
+    Optional<String> findRequestHashByIdempotencyKey(@Param("idempotencyKey") String idempotencyKey);
+
+    // MySQL Connector/J streams rows one at a time only for a fetch size of Integer.MIN_VALUE
+    @QueryHints({
+        @QueryHint(name = "org.hibernate.fetchSize", value = "-2147483648"),
+        @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT b FROM Booking b JOIN FETCH b.station JOIN FETCH b.user ORDER BY b.id")
+    Stream<Booking> streamAllWithStationAndUser();
+
+    @Query(BOOKING_DTO_SELECT)
+    List<BookingDto> findAllDtos();
+
+    @Query(BOOKING_DTO_SELECT + " WHERE b.userId = :userId")
+    List<BookingDto> findDtosByUserId(@Param("userId") Long userId);
+
+    @Query(BOOKING_DTO_SELECT + " WHERE b.stationId = :stationId")
+    List<BookingDto> findDtosByStationId(@Param("stationId") Long stationId);
+
+    // Dashboard totals per status, answered from IX_Bookings_status_amount alone
+    @Query("SELECT b.status, COUNT(b), COALESCE(SUM(b.amount), 0) FROM Booking b GROUP BY b.status")
+    List<Object[]> countAndSumByStatus();
+
+    // Holds: both lookups are served by IX_Bookings_status_holdExpiresAt
+    @Query("SELECT b.id FROM Booking b WHERE b.status = 'Held' AND b.holdExpiresAt <= :now ORDER BY b.holdExpiresAt")
+    List<Long> findExpiredHoldIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Query("SELECT COUNT(b) FROM Booking b WHERE b.userId = :userId AND b.status = 'Held' AND b.holdExpiresAt > :now")
+    long countActiveHolds(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    @Query("SELECT b.id, b.holdExpiresAt FROM Booking b WHERE b.status = 'Held'")
+    List<Object[]> findPendingHolds();
+
+    // SKIP LOCKED: a hold being confirmed right now is left alone rather than waited on
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT b FROM Booking b WHERE b.id IN :ids AND b.status = 'Held' AND b.holdExpiresAt <= :now")
+    List<Booking> lockExpiredHolds(@Param("ids") List<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = 'Expired', b.updatedAt = :now WHERE b.id IN :ids AND b.status = 'Held'")
+    int markExpired(@Param("ids") List<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = 'Confirmed', b.holdExpiresAt = NULL, b.updatedAt = :now " +
+           "WHERE b.id = :id AND b.userId = :userId AND b.status = 'Held' AND b.holdExpiresAt > :now")
+    int confirmHold(@Param("id") Long id, @Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    // Calendar backfill: live bookings that were never counted in StationSlots
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.slotsReserved IS NULL AND b.status IN :statuses " +
+           "AND b.endTime > :now ORDER BY b.id")
+    List<Booking> lockUnreservedLive(@Param("statuses") Collection<String> statuses,
+                                     @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.slotsReserved = true WHERE b.id IN :ids")
+    int markSlotsReserved(@Param("ids") List<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.slotsReserved = false WHERE b.id IN :ids")
+    int clearSlotsReserved(@Param("ids") List<Long> ids);
+
+    // Bulk status changes: lock the whole set up front so the transitions reported are the ones applied
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.id IN :ids ORDER BY b.id")
+    List<Booking> lockAllById(@Param("ids") List<Long> ids);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :status, b.updatedAt = :now WHERE b.id IN :ids")
+    int updateStatus(@Param("ids") List<Long> ids, @Param("status") String status, @Param("now") LocalDateTime now);
+
+    // Rollups: the (station, start day) pairs of the bookings changed in the window
+    @Query("SELECT DISTINCT b.stationId, CAST(b.startTime AS LocalDate) FROM Booking b " +
+           "WHERE b.updatedAt > :since AND b.updatedAt <= :until AND b.startTime IS NOT NULL")
+    List<Object[]> findChangedStartDays(@Param("since") LocalDateTime since, @Param("until") LocalDateTime until);
+
+    @Query("SELECT b.stationId, MIN(b.startTime), MAX(b.startTime) FROM Booking b " +
+           "WHERE b.startTime IS NOT NULL GROUP BY b.stationId")
+    List<Object[]> findAllStartRanges();
+
+    // Heatmap: bookings in id order, all of them or only those changed in the window
+    @Query("SELECT b.id, b.stationId, b.startTime, b.endTime, b.status FROM Booking b " +
+           "WHERE b.id > :afterId ORDER BY b.id")
+    List<Object[]> findOccupancyRows(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT b.id, b.stationId, b.startTime, b.endTime, b.status FROM Booking b " +
+           "WHERE b.updatedAt > :since AND b.updatedAt <= :until AND b.id > :afterId ORDER BY b.id")
+    List<Object[]> findChangedOccupancyRows(@Param("since") LocalDateTime since,
+                                            @Param("until") LocalDateTime until,
+                                            @Param("afterId") Long afterId,
+                                            Pageable pageable);
+
+    @Query("SELECT MIN(b.createdAt) FROM Booking b WHERE b.stationId = :stationId")
+    LocalDateTime findFirstCreatedAt(@Param("stationId") Long stationId);
+
+    @Query("SELECT MIN(b.createdAt) FROM Booking b")
+    LocalDateTime findFirstCreatedAt();
+
+    @Query("SELECT b.startTime, b.endTime, b.status, b.amount FROM Booking b WHERE b.stationId = :stationId " +
+           "AND b.startTime >= :from AND b.startTime < :to")
+    List<Object[]> findRollupRows(@Param("stationId") Long stationId,
+                                  @Param("from") LocalDateTime from,
+                                  @Param("to") LocalDateTime to);
+}
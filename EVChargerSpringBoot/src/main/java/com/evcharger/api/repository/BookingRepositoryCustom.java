@@ -0,0 +1,16 @@
+package com.evcharger.api.repository;
+
+import com.evcharger.api.dto.BookingDto;
+import com.evcharger.api.dto.BookingFilter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface BookingRepositoryCustom {
+    /**
+     * Newest-first page of bookings (by createdAt, then id) projected straight into
+     * DTOs with the station and user names, starting strictly after the given (createdAt, id) pair when present.
+     * {@code userId} is an optional extra restriction on top of {@code filter}.
+     */
+    List<BookingDto> findPage(Long userId, BookingFilter filter, LocalDateTime afterCreatedAt, Long afterId, int maxResults);
+}
@@ -0,0 +1,61 @@
+package com.evcharger.api.repository;
+
+import com.evcharger.api.dto.BookingDto;
+import com.evcharger.api.dto.BookingFilter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class BookingRepositoryImpl implements BookingRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookingDto> findPage(Long userId, BookingFilter filter, LocalDateTime afterCreatedAt, Long afterId,
+                                  int maxResults) {
+        StringBuilder jpql = new StringBuilder(BookingRepository.BOOKING_DTO_SELECT + " WHERE 1 = 1");
+        Map<String, Object> params = new HashMap<>();
+
+        if (userId != null) {
+            jpql.append(" AND b.userId = :userId");
+            params.put("userId", userId);
+        }
+        if (filter.getStationId() != null) {
+            jpql.append(" AND b.stationId = :stationId");
+            params.put("stationId", filter.getStationId());
+        }
+        if (filter.getStatus() != null) {
+            jpql.append(" AND b.status = :status");
+            params.put("status", filter.getStatus());
+        }
+        if (filter.getPaymentMethod() != null) {
+            jpql.append(" AND b.paymentMethod = :paymentMethod");
+            params.put("paymentMethod", filter.getPaymentMethod());
+        }
+        if (filter.getFromDate() != null) {
+            jpql.append(" AND b.createdAt >= :fromTime");
+            params.put("fromTime", filter.getFromDate().atStartOfDay());
+        }
+        if (filter.getToDate() != null) {
+            jpql.append(" AND b.createdAt < :toTime");
+            params.put("toTime", filter.getToDate().plusDays(1).atStartOfDay());
+        }
+        if (afterCreatedAt != null) {
+            jpql.append(" AND (b.createdAt < :afterCreatedAt OR (b.createdAt = :afterCreatedAt AND b.id < :afterId))");
+            params.put("afterCreatedAt", afterCreatedAt);
+            params.put("afterId", afterId);
+        }
+        jpql.append(" ORDER BY b.createdAt DESC, b.id DESC");
+
+        TypedQuery<BookingDto> query = entityManager.createQuery(jpql.toString(), BookingDto.class);
+        params.forEach(query::setParameter);
+        query.setMaxResults(maxResults);
+        return query.getResultList();
+    }
+}
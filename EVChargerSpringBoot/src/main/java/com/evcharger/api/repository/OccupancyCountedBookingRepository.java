@@ -0,0 +1,27 @@
+package com.evcharger.api.repository;
+
+import com.evcharger.api.entity.OccupancyCountedBooking;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OccupancyCountedBookingRepository extends JpaRepository<OccupancyCountedBooking, Long> {
+
+    @Query("SELECT c.bookingId FROM OccupancyCountedBooking c WHERE c.bookingId IN :ids")
+    List<Long> findCounted(@Param("ids") Collection<Long> ids);
+
+    // Insert-select, so adding a batch is one statement rather than a merge per id
+    @Modifying
+    @Query("INSERT INTO OccupancyCountedBooking (bookingId) SELECT b.id FROM Booking b WHERE b.id IN :ids")
+    int addAll(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM OccupancyCountedBooking c WHERE c.bookingId IN :ids")
+    int removeAll(@Param("ids") Collection<Long> ids);
+}
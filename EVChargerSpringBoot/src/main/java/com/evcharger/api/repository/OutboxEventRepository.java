@@ -0,0 +1,32 @@
+package com.evcharger.api.repository;
+
+import com.evcharger.api.entity.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Not SKIP LOCKED: a second relay waits for the first batch instead of overtaking it
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM OutboxEvent e WHERE e.status = 'Pending' ORDER BY e.id")
+    List<OutboxEvent> lockPending(Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = 'Dispatched', e.processedAt = :now, " +
+           "e.attempts = e.attempts + 1 WHERE e.id IN :ids")
+    int markDispatched(@Param("ids") List<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.status = 'Dispatched' AND e.processedAt < :cutoff")
+    int deleteDispatchedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,5 +1,6 @@
 package com.evcharger.api.repository;
 
+import com.evcharger.api.dto.ReviewDto;
 import com.evcharger.api.entity.Review;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -9,15 +10,22 @@ import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
-public interface ReviewRepository extends JpaRepository<Review, Long> {
+public interface ReviewRepository extends JpaRepository<Review, Long>, ReviewRepositoryCustom {
+    // Constructor projection: the review with its author and station names in one query
+    String REVIEW_DTO_SELECT = "SELECT new com.evcharger.api.dto.ReviewDto(r.id, r.userId, r.stationId, "
+            + "r.rating, r.comment, r.createdAt, u.name, u.email, s.name) "
+            + "FROM Review r LEFT JOIN r.station s LEFT JOIN r.user u";
     
-    @Query("SELECT r FROM Review r LEFT JOIN FETCH r.user LEFT JOIN FETCH r.station ORDER BY r.rating ASC")
-    List<Review> findAllWithUserAndStation();
+    @Query(REVIEW_DTO_SELECT + " ORDER BY r.rating ASC, r.id ASC")
+    List<ReviewDto> findAllDtos();
     
     @Query("SELECT r FROM Review r LEFT JOIN FETCH r.user WHERE r.stationId = :stationId")
     List<Review> findByStationIdWithUser(@Param("stationId") Long stationId);
     
+    @Query(REVIEW_DTO_SELECT + " WHERE s.stationMaster.id = :stationMasterId ORDER BY r.rating ASC, r.id ASC")
+    List<ReviewDto> findDtosByStationMasterId(@Param("stationMasterId") Long stationMasterId);
+    
     List<Review> findByStationId(Long stationId);
     
     List<Review> findByUserId(Long userId);
-}
\ No newline at end of file
+}
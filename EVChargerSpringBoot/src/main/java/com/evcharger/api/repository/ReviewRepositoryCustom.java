@@ -0,0 +1,15 @@
+package com.evcharger.api.repository;
+
+import com.evcharger.api.dto.ReviewDto;
+import com.evcharger.api.dto.ReviewFilter;
+
+import java.util.List;
+
+public interface ReviewRepositoryCustom {
+    /**
+     * Lowest-rated-first page of reviews (by rating, then id) projected into DTOs with
+     * the author and station names, starting strictly after the given (rating, id) pair when present.
+     * {@code stationMasterId} is an optional restriction to that station master's stations.
+     */
+    List<ReviewDto> findPage(Long stationMasterId, ReviewFilter filter, Integer afterRating, Long afterId, int maxResults);
+}
@@ -0,0 +1,60 @@
+package com.evcharger.api.repository;
+
+import com.evcharger.api.dto.ReviewDto;
+import com.evcharger.api.dto.ReviewFilter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ReviewRepositoryImpl implements ReviewRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ReviewDto> findPage(Long stationMasterId, ReviewFilter filter, Integer afterRating, Long afterId,
+                                    int maxResults) {
+        StringBuilder jpql = new StringBuilder(ReviewRepository.REVIEW_DTO_SELECT + " WHERE 1 = 1");
+        Map<String, Object> params = new HashMap<>();
+
+        if (stationMasterId != null) {
+            jpql.append(" AND s.stationMaster.id = :stationMasterId");
+            params.put("stationMasterId", stationMasterId);
+        }
+        if (filter.getStationId() != null) {
+            jpql.append(" AND r.stationId = :stationId");
+            params.put("stationId", filter.getStationId());
+        }
+        if (filter.getMinRating() != null) {
+            jpql.append(" AND r.rating >= :minRating");
+            params.put("minRating", filter.getMinRating());
+        }
+        if (filter.getMaxRating() != null) {
+            jpql.append(" AND r.rating <= :maxRating");
+            params.put("maxRating", filter.getMaxRating());
+        }
+        if (filter.getFromDate() != null) {
+            jpql.append(" AND r.createdAt >= :fromTime");
+            params.put("fromTime", filter.getFromDate().atStartOfDay());
+        }
+        if (filter.getToDate() != null) {
+            jpql.append(" AND r.createdAt < :toTime");
+            params.put("toTime", filter.getToDate().plusDays(1).atStartOfDay());
+        }
+        if (afterRating != null) {
+            jpql.append(" AND (r.rating > :afterRating OR (r.rating = :afterRating AND r.id > :afterId))");
+            params.put("afterRating", afterRating);
+            params.put("afterId", afterId);
+        }
+        jpql.append(" ORDER BY r.rating ASC, r.id ASC");
+
+        TypedQuery<ReviewDto> query = entityManager.createQuery(jpql.toString(), ReviewDto.class);
+        params.forEach(query::setParameter);
+        query.setMaxResults(maxResults);
+        return query.getResultList();
+    }
+}
@@ -0,0 +1,24 @@
+package com.evcharger.api.repository;
+
+import com.evcharger.api.entity.StationDailyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface StationDailyRollupRepository extends JpaRepository<StationDailyRollup, Long> {
+
+    @Query("SELECT r FROM StationDailyRollup r WHERE r.stationId = :stationId " +
+           "AND r.day BETWEEN :fromDate AND :toDate ORDER BY r.day")
+    List<StationDailyRollup> findByStationIdAndDayRange(@Param("stationId") Long stationId,
+                                                        @Param("fromDate") LocalDate fromDate,
+                                                        @Param("toDate") LocalDate toDate);
+
+    @Query("SELECT r.day, SUM(r.sessions), SUM(r.cancellations), SUM(r.bookedMinutes), SUM(r.revenue) " +
+           "FROM StationDailyRollup r WHERE r.day BETWEEN :fromDate AND :toDate GROUP BY r.day ORDER BY r.day")
+    List<Object[]> sumByDay(@Param("fromDate") LocalDate fromDate, @Param("toDate") LocalDate toDate);
+}
@@ -0,0 +1,17 @@
+package com.evcharger.api.repository;
+
+import com.evcharger.api.entity.StationOccupancyCell;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StationOccupancyCellRepository extends JpaRepository<StationOccupancyCell, Long> {
+
+    List<StationOccupancyCell> findByStationId(Long stationId);
+
+    @Query("SELECT c.hourOfWeek, SUM(c.bookedMinutes) FROM StationOccupancyCell c GROUP BY c.hourOfWeek")
+    List<Object[]> sumByHourOfWeek();
+}
@@ -1,14 +1,27 @@
 package com.evcharger.api.repository;
 
+import com.evcharger.api.dto.StationRow;
 import com.evcharger.api.entity.Station;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface StationRepository extends JpaRepository<Station, Long> {
+public interface StationRepository extends JpaRepository<Station, Long>, StationRepositoryCustom {
+    // Constructor projection for list reads: the DTO columns plus owner name in one query
+    String STATION_ROW_SELECT = "SELECT new com.evcharger.api.dto.StationRow(s.id, s.name, s.address, "
+            + "s.latitude, s.longitude, s.connectorTypes, s.powerOutput, s.pricePerKwh, s.amenities, "
+            + "s.operatingHours, s.status, s.totalSlots, s.availableSlots, s.approvalStatus, m.name, "
+            + "s.connectorMask, s.amenityMask, s.powerKw, s.ratingSum, s.ratingCount) "
+            + "FROM Station s LEFT JOIN s.stationMaster m";
+
     List<Station> findByStatus(String status);
     
     List<Station> findByStationMasterId(Long stationMasterId);
@@ -20,4 +33,64 @@ public interface StationRepository extends JpaRepository<Station, Long> {
     
     @Query("SELECT s FROM Station s LEFT JOIN FETCH s.stationMaster")
     List<Station> findAllWithStationMaster();
+
+    List<Station> findByGeohashIsNullOrConnectorMaskIsNull();
+
+    @Query("SELECT s.id FROM Station s WHERE s.id IN :ids AND s.stationMaster.id = :stationMasterId")
+    List<Long> findIdsOwnedBy(@Param("ids") Collection<Long> ids, @Param("stationMasterId") Long stationMasterId);
+
+    @Query("SELECT s.totalSlots FROM Station s WHERE s.id = :id")
+    Integer findTotalSlots(@Param("id") Long id);
+
+    // availableSlots caches the free capacity of the current calendar interval
+    @Modifying
+    @Query("UPDATE Station s SET s.availableSlots = CASE WHEN COALESCE(s.totalSlots, 1) > :booked " +
+           "THEN COALESCE(s.totalSlots, 1) - :booked ELSE 0 END WHERE s.id = :id")
+    int updateAvailableSlots(@Param("id") Long id, @Param("booked") int booked);
+
+    @Modifying
+    @Query("UPDATE Station s SET s.ratingSum = COALESCE(s.ratingSum, 0) + :rating, " +
+           "s.ratingCount = COALESCE(s.ratingCount, 0) + 1 WHERE s.id = :id")
+    int addRating(@Param("id") Long id, @Param("rating") long rating);
+
+    // Stations whose totals were never computed take them from their reviews
+    @Modifying
+    @Query("UPDATE Station s SET " +
+           "s.ratingSum = (SELECT COALESCE(SUM(r.rating), 0) FROM Review r WHERE r.stationId = s.id), " +
+           "s.ratingCount = (SELECT COUNT(r) FROM Review r WHERE r.stationId = s.id) " +
+           "WHERE s.ratingCount IS NULL")
+    int backfillRatings();
+
+    @Query(STATION_ROW_SELECT)
+    List<StationRow> findAllRows();
+
+    @Query(STATION_ROW_SELECT + " WHERE s.id = :id")
+    Optional<StationRow> findRowById(@Param("id") Long id);
+
+    @Query(STATION_ROW_SELECT + " WHERE s.approvalStatus = :approvalStatus")
+    List<StationRow> findRowsByApprovalStatus(@Param("approvalStatus") String approvalStatus);
+
+    @Query(STATION_ROW_SELECT + " WHERE s.stationMaster.id = :stationMasterId")
+    List<StationRow> findRowsByStationMasterId(@Param("stationMasterId") Long stationMasterId);
+
+    @Query(STATION_ROW_SELECT + " WHERE (:minPowerKw IS NULL OR s.powerKw >= :minPowerKw) " +
+           "AND (:maxPrice IS NULL OR s.pricePerKwh <= :maxPrice)")
+    List<StationRow> findRowsByPowerAndPrice(@Param("minPowerKw") Double minPowerKw, @Param("maxPrice") BigDecimal maxPrice);
+
+    // Columns for the in-memory StationSnapshot:
+    // id, latitude, longitude, availableSlots, connectorMask, amenityMask, powerKw, pricePerKwh
+    @Query("SELECT s.id, s.latitude, s.longitude, s.availableSlots, s.connectorMask, s.amenityMask, " +
+           "s.powerKw, s.pricePerKwh FROM Station s " +
+           "WHERE s.status = 'Available' AND s.approvalStatus = 'Approved'")
+    List<Object[]> findSnapshotRows();
+
+    @Query("SELECT COALESCE(SUM(COALESCE(s.totalSlots, 1)), 0) FROM Station s")
+    Long sumTotalSlots();
+
+    // Unlike findTariffRows, includes stations without a price so their absence can be cached
+    @Query("SELECT s.id, s.pricePerKwh, s.powerKw FROM Station s WHERE s.id IN :ids")
+    List<Object[]> findTariffRowsByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT s.id, s.pricePerKwh, s.powerKw FROM Station s WHERE s.pricePerKwh IS NOT NULL")
+    List<Object[]> findTariffRows();
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.evcharger.api.repository;
+
+import com.evcharger.api.dto.StationClusterDto;
+import com.evcharger.api.entity.Station;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface StationRepositoryCustom {
+    /**
+     * Approved, available stations whose geohash starts with any of the given cell prefixes.
+     */
+    List<Station> findAvailableInCells(Collection<String> cells);
+
+    /**
+     * Approved stations inside the bounding box, narrowed first by the covering cells
+     * (an empty collection means no cell narrowing).
+     */
+    List<Station> findApprovedInBox(Collection<String> cells, double minLat, double minLng,
+                                    double maxLat, double maxLng, int maxResults);
+
+    /**
+     * Approved stations inside the bounding box grouped by geohash prefix of the given
+     * length, with count, centroid and total available slots per group.
+     */
+    List<StationClusterDto> clusterApprovedInBox(Collection<String> cells, int precision, double minLat,
+                                                 double minLng, double maxLat, double maxLng);
+}
@@ -0,0 +1,98 @@
+package com.evcharger.api.repository;
+
+import com.evcharger.api.dto.StationClusterDto;
+import com.evcharger.api.entity.Station;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class StationRepositoryImpl implements StationRepositoryCustom {
+
+    private static final String IN_BOX =
+            " AND s.latitude BETWEEN :minLat AND :maxLat AND s.longitude BETWEEN :minLng AND :maxLng";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Station> findAvailableInCells(Collection<String> cells) {
+        if (cells.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        String jpql = "SELECT s FROM Station s WHERE s.status = 'Available' AND s.approvalStatus = 'Approved'"
+                + cellClause(cells);
+        TypedQuery<Station> query = entityManager.createQuery(jpql, Station.class);
+        bindCells(query, cells);
+        return query.getResultList();
+    }
+
+    @Override
+    public List<Station> findApprovedInBox(Collection<String> cells, double minLat, double minLng,
+                                           double maxLat, double maxLng, int maxResults) {
+        String jpql = "SELECT s FROM Station s WHERE s.approvalStatus = 'Approved'" + cellClause(cells) + IN_BOX;
+        TypedQuery<Station> query = entityManager.createQuery(jpql, Station.class);
+        bindCells(query, cells);
+        bindBox(query, minLat, minLng, maxLat, maxLng);
+        query.setMaxResults(maxResults);
+        return query.getResultList();
+    }
+
+    @Override
+    public List<StationClusterDto> clusterApprovedInBox(Collection<String> cells, int precision, double minLat,
+                                                        double minLng, double maxLat, double maxLng) {
+        // The prefix length is an int we computed, so it is inlined: the SELECT and GROUP BY
+        // expressions must be textually identical for MySQL's ONLY_FULL_GROUP_BY
+        String prefix = "SUBSTRING(s.geohash, 1, " + precision + ")";
+        String jpql = "SELECT " + prefix + ", COUNT(s), AVG(s.latitude), AVG(s.longitude), "
+                + "COALESCE(SUM(s.availableSlots), 0) FROM Station s WHERE s.approvalStatus = 'Approved'"
+                + cellClause(cells) + IN_BOX + " GROUP BY " + prefix;
+        Query query = entityManager.createQuery(jpql);
+        bindCells(query, cells);
+        bindBox(query, minLat, minLng, maxLat, maxLng);
+
+        List<StationClusterDto> clusters = new ArrayList<>();
+        for (Object row : query.getResultList()) {
+            Object[] columns = (Object[]) row;
+            clusters.add(new StationClusterDto(
+                    (String) columns[0],
+                    ((Number) columns[1]).longValue(),
+                    ((Number) columns[2]).doubleValue(),
+                    ((Number) columns[3]).doubleValue(),
+                    ((Number) columns[4]).longValue()));
+        }
+        return clusters;
+    }
+
+    // One LIKE 'prefix%' per cell so each branch is an index range scan on geohash
+    private static String cellClause(Collection<String> cells) {
+        if (cells.isEmpty()) {
+            return "";
+        }
+        StringBuilder clause = new StringBuilder(" AND (");
+        for (int i = 0; i < cells.size(); i++) {
+            if (i > 0) clause.append(" OR ");
+            clause.append("s.geohash LIKE :cell").append(i);
+        }
+        return clause.append(")").toString();
+    }
+
+    private static void bindCells(Query query, Collection<String> cells) {
+        int i = 0;
+        for (String cell : cells) {
+            query.setParameter("cell" + i++, cell + "%");
+        }
+    }
+
+    private static void bindBox(Query query, double minLat, double minLng, double maxLat, double maxLng) {
+        query.setParameter("minLat", minLat);
+        query.setParameter("maxLat", maxLat);
+        query.setParameter("minLng", minLng);
+        query.setParameter("maxLng", maxLng);
+    }
+}
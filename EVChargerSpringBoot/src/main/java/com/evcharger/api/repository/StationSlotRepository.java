@@ -0,0 +1,67 @@
+package com.evcharger.api.repository;
+
+import com.evcharger.api.entity.StationSlot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface StationSlotRepository extends JpaRepository<StationSlot, Long> {
+
+    @Query("SELECT s FROM StationSlot s WHERE s.stationId = :stationId " +
+           "AND s.slotDate BETWEEN :fromDate AND :toDate")
+    List<StationSlot> findByStationIdAndDateRange(@Param("stationId") Long stationId,
+                                                  @Param("fromDate") LocalDate fromDate,
+                                                  @Param("toDate") LocalDate toDate);
+
+    @Query("SELECT s FROM StationSlot s WHERE (s.slotDate = :date AND s.slotIndex = :slotIndex) " +
+           "OR (s.slotDate = :previousDate AND s.slotIndex = :previousIndex)")
+    List<StationSlot> findCurrentAndPrevious(@Param("date") LocalDate date,
+                                             @Param("slotIndex") int slotIndex,
+                                             @Param("previousDate") LocalDate previousDate,
+                                             @Param("previousIndex") int previousIndex);
+
+    @Query("SELECT s.booked FROM StationSlot s WHERE s.stationId = :stationId " +
+           "AND s.slotDate = :date AND s.slotIndex = :slotIndex")
+    Integer findBooked(@Param("stationId") Long stationId,
+                       @Param("date") LocalDate date,
+                       @Param("slotIndex") int slotIndex);
+
+    // Native so that a row inserted concurrently by another booking is skipped rather than failing;
+    // the names are the physical ones produced by the default naming strategy
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO station_slots (station_id, slot_date, slot_index, booked) " +
+                   "VALUES (:stationId, :date, :slotIndex, 0)", nativeQuery = true)
+    int insertIfMissing(@Param("stationId") Long stationId,
+                        @Param("date") LocalDate date,
+                        @Param("slotIndex") int slotIndex);
+
+    // Capacity is enforced by the WHERE clause: zero rows updated means the interval is full
+    @Modifying
+    @Query("UPDATE StationSlot s SET s.booked = s.booked + 1 WHERE s.stationId = :stationId " +
+           "AND s.slotDate = :date AND s.slotIndex = :slotIndex AND s.booked < :capacity")
+    int increment(@Param("stationId") Long stationId,
+                  @Param("date") LocalDate date,
+                  @Param("slotIndex") int slotIndex,
+                  @Param("capacity") int capacity);
+
+    // Backfill only: existing bookings are counted even where they already overbook an interval
+    @Modifying
+    @Query("UPDATE StationSlot s SET s.booked = s.booked + 1 WHERE s.stationId = :stationId " +
+           "AND s.slotDate = :date AND s.slotIndex = :slotIndex")
+    int add(@Param("stationId") Long stationId,
+            @Param("date") LocalDate date,
+            @Param("slotIndex") int slotIndex);
+
+    @Modifying
+    @Query("UPDATE StationSlot s SET s.booked = s.booked - 1 WHERE s.stationId = :stationId " +
+           "AND s.slotDate = :date AND s.slotIndex = :slotIndex AND s.booked > 0")
+    int decrement(@Param("stationId") Long stationId,
+                  @Param("date") LocalDate date,
+                  @Param("slotIndex") int slotIndex);
+}
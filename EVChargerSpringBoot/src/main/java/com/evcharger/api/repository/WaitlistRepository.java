@@ -0,0 +1,52 @@
+package com.evcharger.api.repository;
+
+import com.evcharger.api.entity.WaitlistEntry;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface WaitlistRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    List<WaitlistEntry> findByUserIdOrderByIdDesc(Long userId);
+
+    long countByStationIdAndStatusAndIdLessThan(Long stationId, String status, Long id);
+
+    @Query("SELECT COUNT(w) > 0 FROM WaitlistEntry w WHERE w.userId = :userId AND w.stationId = :stationId " +
+           "AND w.status = 'Waiting' AND w.startTime < :endTime AND w.endTime > :startTime")
+    boolean existsWaitingOverlap(@Param("userId") Long userId,
+                                 @Param("stationId") Long stationId,
+                                 @Param("startTime") LocalDateTime startTime,
+                                 @Param("endTime") LocalDateTime endTime);
+
+    // SKIP LOCKED: concurrent releases at the same station each promote a different waiter
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT w FROM WaitlistEntry w WHERE w.stationId = :stationId AND w.status = 'Waiting' " +
+           "AND w.startTime < :freedEnd AND w.endTime > :freedStart AND w.endTime > :now ORDER BY w.id")
+    List<WaitlistEntry> lockWaitingOverlapping(@Param("stationId") Long stationId,
+                                               @Param("freedStart") LocalDateTime freedStart,
+                                               @Param("freedEnd") LocalDateTime freedEnd,
+                                               @Param("now") LocalDateTime now,
+                                               Pageable pageable);
+
+    // Blocks behind a promotion in progress, then matches nothing if the entry was promoted
+    @Modifying
+    @Query("UPDATE WaitlistEntry w SET w.status = 'Left' WHERE w.id = :id AND w.userId = :userId " +
+           "AND w.status = 'Waiting'")
+    int leave(@Param("id") Long id, @Param("userId") Long userId);
+
+    @Modifying
+    @Query("UPDATE WaitlistEntry w SET w.status = 'Lapsed' WHERE w.status = 'Waiting' AND w.endTime <= :now")
+    int lapseEnded(@Param("now") LocalDateTime now);
+}
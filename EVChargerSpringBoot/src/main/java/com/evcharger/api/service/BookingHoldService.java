@@ -0,0 +1,205 @@
+package com.evcharger.api.service;
+
+import com.evcharger.api.dto.BookingDto;
+import com.evcharger.api.dto.CreateHoldDto;
+import com.evcharger.api.entity.Booking;
+import com.evcharger.api.repository.BookingRepository;
+import com.evcharger.api.repository.UserRepository;
+import com.evcharger.api.util.TimingWheel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Time-limited capacity holds taken when checkout starts. A hold is a booking in
+ * status "Held" that occupies the calendar until {@code holdExpiresAt}; confirming
+ * it through {@code POST /api/bookings} with its holdId turns it into a normal
+ * booking, otherwise it is expired and its capacity released.
+ *
+ * An expired hold's capacity goes to the station's waitlist in the same
+ * transaction that releases it.
+ *
+ * Expiry is driven by an in-process {@link TimingWheel} ticked every second, so
+ * no query runs unless something is due. A slower sweep over the
+ * (status, holdExpiresAt) index catches holds the wheel does not know about,
+ * such as those created by another instance.
+ */
+@Service
+public class BookingHoldService {
+    private static final Logger logger = LoggerFactory.getLogger(BookingHoldService.class);
+
+    private static final int EXPIRE_BATCH_SIZE = 500;
+
+    @Value("${bookings.hold.minutes:10}")
+    private int holdMinutes;
+
+    @Value("${bookings.hold.max-per-user:3}")
+    private int maxHoldsPerUser;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SlotCalendarService slotCalendarService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    // Lazy: promotion creates holds through this service
+    @Lazy
+    @Autowired
+    private WaitlistService waitlistService;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final TimingWheel wheel = new TimingWheel(1000, 1024, System.currentTimeMillis());
+
+    public BookingHoldService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Transactional
+    public BookingDto createHold(Long userId, CreateHoldDto createHoldDto) {
+        // Each hold takes capacity from everyone else until it expires. The user row lock
+        // makes concurrent requests of the same user count one after the other.
+        if (userRepository.lockById(userId).isEmpty()) {
+            throw new RuntimeException("User not found");
+        }
+        if (bookingRepository.countActiveHolds(userId, LocalDateTime.now()) >= maxHoldsPerUser) {
+            throw new RuntimeException("Too many active holds; confirm or wait for an existing hold to expire");
+        }
+        Booking savedHold = tryHold(userId, createHoldDto.getStationId(),
+                createHoldDto.getStartTime(), createHoldDto.getEndTime());
+        if (savedHold == null) {
+            throw new RuntimeException("No available slots at this station for the requested time");
+        }
+
+        BookingDto dto = new BookingDto();
+        dto.setId(savedHold.getId());
+        dto.setUserId(userId);
+        dto.setStationId(savedHold.getStationId());
+        dto.setStartTime(savedHold.getStartTime());
+        dto.setEndTime(savedHold.getEndTime());
+        dto.setStatus(savedHold.getStatus());
+        dto.setHoldExpiresAt(savedHold.getHoldExpiresAt());
+        return dto;
+    }
+
+    /**
+     * Reserves [start, end) and saves a hold on it, or returns null, with nothing
+     * reserved, if the station is full for that time.
+     */
+    @Transactional
+    public Booking tryHold(Long userId, Long stationId, LocalDateTime start, LocalDateTime end) {
+        if (!slotCalendarService.tryReserve(stationId, start, end)) {
+            return null;
+        }
+        LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(holdMinutes);
+
+        Booking hold = new Booking();
+        hold.setUserId(userId);
+        hold.setStationId(stationId);
+        hold.setStartTime(start);
+        hold.setEndTime(end);
+        hold.setStatus("Held");
+        hold.setSlotsReserved(true);
+        hold.setHoldExpiresAt(expiresAt);
+        hold.setDate("");
+        hold.setTimeSlot("");
+        Booking savedHold = bookingRepository.save(hold);
+        outboxService.recordBooking("BookingHeld", savedHold);
+
+        // Scheduling before commit is harmless: a rolled-back hold is simply not found at expiry
+        wheel.schedule(savedHold.getId(), toMillis(expiresAt));
+        logger.info("Hold {} created for user {} until {}", savedHold.getId(), userId, expiresAt);
+        return savedHold;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadPendingHolds() {
+        List<Object[]> pending = bookingRepository.findPendingHolds();
+        for (Object[] row : pending) {
+            LocalDateTime expiresAt = (LocalDateTime) row[1];
+            wheel.schedule((Long) row[0], expiresAt != null ? toMillis(expiresAt) : 0L);
+        }
+        if (!pending.isEmpty()) {
+            logger.info("Scheduled {} pending booking holds", pending.size());
+        }
+    }
+
+    @Scheduled(fixedRate = 1000)
+    public void tick() {
+        List<Long> due = wheel.advance(System.currentTimeMillis());
+        for (int from = 0; from < due.size(); from += EXPIRE_BATCH_SIZE) {
+            try {
+                expire(due.subList(from, Math.min(from + EXPIRE_BATCH_SIZE, due.size())));
+            } catch (RuntimeException e) {
+                // Dropped from the wheel, but the sweep will still find them
+                logger.error("Failed to expire booking holds: {}", e.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(fixedDelay = 30000, initialDelay = 30000)
+    public void sweep() {
+        int expired = 0;
+        while (true) {
+            List<Long> ids = bookingRepository.findExpiredHoldIds(LocalDateTime.now(), PageRequest.of(0, EXPIRE_BATCH_SIZE));
+            if (ids.isEmpty()) {
+                break;
+            }
+            int count = expire(ids);
+            expired += count;
+            // Everything left was locked by a concurrent confirmation; try again next sweep
+            if (count == 0 || ids.size() < EXPIRE_BATCH_SIZE) {
+                break;
+            }
+        }
+        if (expired > 0) {
+            logger.info("Hold sweep expired {} bookings", expired);
+        }
+    }
+
+    /**
+     * Expires the given holds in one transaction: lock the ones still held and past
+     * their deadline, mark them with a single UPDATE, then release their intervals
+     * and offer them to the waitlist.
+     */
+    private int expire(List<Long> ids) {
+        Integer expired = transactionTemplate.execute(status -> {
+            List<Booking> holds = bookingRepository.lockExpiredHolds(ids, LocalDateTime.now());
+            if (holds.isEmpty()) {
+                return 0;
+            }
+            bookingRepository.markExpired(holds.stream().map(Booking::getId).toList(), LocalDateTime.now());
+            outboxService.recordBookings("BookingExpired", holds, "Expired");
+            slotCalendarService.releaseAll(holds);
+            for (Booking hold : holds) {
+                waitlistService.promote(hold.getStationId(), hold.getStartTime(), hold.getEndTime());
+            }
+            return holds.size();
+        });
+        return expired != null ? expired : 0;
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return Timestamp.valueOf(time).getTime();
+    }
+}
@@ -0,0 +1,134 @@
+package com.evcharger.api.service;
+
+import com.evcharger.api.dto.BookingDto;
+import com.evcharger.api.dto.CreateBookingDto;
+import com.evcharger.api.exception.IdempotencyKeyReusedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Makes {@code POST /api/bookings} safe to retry. A request is keyed by its
+ * Idempotency-Key header, or failing that its paymentId, scoped to the user.
+ * Recent keys are answered from memory without touching the database; older
+ * ones are found through the unique idempotencyKey column, which also settles
+ * two identical requests racing each other.
+ *
+ * Each key is stored with a hash of the request body, and a retry whose body
+ * differs is rejected instead of replaying a booking it did not ask for.
+ */
+@Service
+public class BookingIdempotencyService {
+    private static final Logger logger = LoggerFactory.getLogger(BookingIdempotencyService.class);
+
+    private static final long CACHE_TTL_MS = 10 * 60 * 1000L;
+    private static final int MAX_CACHED_KEYS = 10000;
+    private static final int MAX_KEY_LENGTH = 150;
+
+    @Autowired
+    private BookingService bookingService;
+
+    private final Map<String, CachedBooking> recent = new ConcurrentHashMap<>();
+
+    private record CachedBooking(BookingDto booking, String requestHash, long expiresAt) {}
+
+    public BookingDto createBooking(Long userId, CreateBookingDto createBookingDto, String idempotencyKey) {
+        String key = resolveKey(userId, createBookingDto, idempotencyKey);
+        if (key == null) {
+            return bookingService.createBooking(userId, createBookingDto, null, null);
+        }
+        String requestHash = requestHash(createBookingDto);
+
+        CachedBooking cached = recent.get(key);
+        if (cached != null && cached.expiresAt() > System.currentTimeMillis()) {
+            checkSameRequest(key, cached.requestHash(), requestHash);
+            logger.info("Replaying booking {} for idempotency key {}", cached.booking().getId(), key);
+            return cached.booking();
+        }
+
+        Optional<BookingDto> existing = findExisting(key, requestHash);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+
+        try {
+            return remember(key, requestHash, bookingService.createBooking(userId, createBookingDto, key, requestHash));
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request with the same key committed first
+            return findExisting(key, requestHash).orElseThrow(() -> e);
+        }
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void evictExpired() {
+        long now = System.currentTimeMillis();
+        recent.values().removeIf(cached -> cached.expiresAt() <= now);
+    }
+
+    private Optional<BookingDto> findExisting(String key, String requestHash) {
+        // Bookings created before request hashes were stored have none to compare
+        bookingService.findRequestHash(key).ifPresent(stored -> checkSameRequest(key, stored, requestHash));
+        return bookingService.findByIdempotencyKey(key).map(booking -> remember(key, requestHash, booking));
+    }
+
+    private BookingDto remember(String key, String requestHash, BookingDto booking) {
+        if (recent.size() >= MAX_CACHED_KEYS) {
+            evictExpired();
+        }
+        // Still full: the database answers this key's retries instead
+        if (recent.size() < MAX_CACHED_KEYS) {
+            recent.put(key, new CachedBooking(booking, requestHash, System.currentTimeMillis() + CACHE_TTL_MS));
+        }
+        return booking;
+    }
+
+    private static void checkSameRequest(String key, String storedHash, String requestHash) {
+        if (!storedHash.equals(requestHash)) {
+            logger.warn("Idempotency key {} reused with a different request", key);
+            throw new IdempotencyKeyReusedException("Idempotency key was already used for a different booking request");
+        }
+    }
+
+    private static String requestHash(CreateBookingDto dto) {
+        String amount = dto.getAmount() != null ? dto.getAmount().stripTrailingZeros().toPlainString() : null;
+        String canonical = String.join("\n",
+                String.valueOf(dto.getStationId()), String.valueOf(dto.getStartTime()), String.valueOf(dto.getEndTime()),
+                String.valueOf(amount), String.valueOf(dto.getDate()), String.valueOf(dto.getTimeSlot()),
+                String.valueOf(dto.getDuration()), String.valueOf(dto.getPaymentMethod()),
+                String.valueOf(dto.getVehicleType()), String.valueOf(dto.getVehicleBrand()),
+                String.valueOf(dto.getVehicleModel()), String.valueOf(dto.getVehicleNumber()),
+                String.valueOf(dto.getPaymentId()), String.valueOf(dto.getStatus()), String.valueOf(dto.getHoldId()));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String resolveKey(Long userId, CreateBookingDto createBookingDto, String idempotencyKey) {
+        String key;
+        if (idempotencyKey != null && !idempotencyKey.isBlank()) {
+            key = "key:" + idempotencyKey.trim();
+        } else if (createBookingDto.getPaymentId() != null && !createBookingDto.getPaymentId().isBlank()) {
+            key = "payment:" + createBookingDto.getPaymentId().trim();
+        } else {
+            return null;
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new RuntimeException("Idempotency key is too long");
+        }
+        return userId + ":" + key;
+    }
+}
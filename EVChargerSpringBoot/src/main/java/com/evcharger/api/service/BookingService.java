@@ -2,49 +2,175 @@ package com.evcharger.api.service;
 
 import com.evcharger.api.dto.AdminCancelBookingDto;
 import com.evcharger.api.dto.BookingDto;
+import com.evcharger.api.dto.BookingFilter;
 import com.evcharger.api.dto.CreateBookingDto;
+import com.evcharger.api.dto.CursorPage;
 import com.evcharger.api.entity.Booking;
 import com.evcharger.api.entity.Station;
 import com.evcharger.api.repository.BookingRepository;
 import com.evcharger.api.repository.StationRepository;
+import com.evcharger.api.util.KeysetCursor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class BookingService {
     private static final Logger logger = LoggerFactory.getLogger(BookingService.class);
 
+    private static final Set<String> BULK_TARGET_STATUSES = Set.of("Confirmed", "Cancelled", "Completed");
+    // Statuses a new booking may start in; both occupy capacity until released
+    private static final Set<String> INITIAL_STATUSES = Set.of("Confirmed", "Pending");
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private static final int EXPORT_CLEAR_INTERVAL = 1000;
+
+    private static final String CSV_HEADER = "id,userId,userName,stationId,stationName,startTime,endTime,"
+            + "status,amount,paymentMethod,paymentId,createdAt\n";
+
     @Autowired
     private BookingRepository bookingRepository;
 
     @Autowired
     private StationRepository stationRepository;
 
+    @Autowired
+    private SlotCalendarService slotCalendarService;
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private TariffService tariffService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Creates a booking tagged with {@code idempotencyKey} and the hash of the request
+     * it came from. A second create with the same key fails on the unique constraint;
+     * {@link BookingIdempotencyService} turns that into a replay of the original booking.
+     */
     @Transactional
-    public BookingDto createBooking(Long userId, CreateBookingDto createBookingDto) {
+    public BookingDto createBooking(Long userId, CreateBookingDto createBookingDto, String idempotencyKey,
+                                    String requestHash) {
         logger.info("Creating booking for user {} with data: {}", userId, createBookingDto);
         
-        Optional<Station> stationOpt = stationRepository.findById(createBookingDto.getStationId());
-        if (stationOpt.isEmpty()) {
+        if (!stationRepository.existsById(createBookingDto.getStationId())) {
             throw new RuntimeException("Station not found");
         }
 
-        Station station = stationOpt.get();
+        if (createBookingDto.getHoldId() != null) {
+            return confirmHold(userId, createBookingDto, idempotencyKey, requestHash);
+        }
+        String status = createBookingDto.getStatus() != null ? createBookingDto.getStatus() : "Confirmed";
+        if (!INITIAL_STATUSES.contains(status)) {
+            throw new RuntimeException("Status must be one of " + INITIAL_STATUSES);
+        }
         
         Booking booking = new Booking();
         booking.setUserId(userId);
+        booking.setIdempotencyKey(idempotencyKey);
+        booking.setRequestHash(requestHash);
         booking.setStationId(createBookingDto.getStationId());
         booking.setStartTime(createBookingDto.getStartTime());
         booking.setEndTime(createBookingDto.getEndTime());
-        booking.setAmount(createBookingDto.getAmount());
-        booking.setStatus(createBookingDto.getStatus() != null ? createBookingDto.getStatus() : "Confirmed");
+        booking.setStatus(status);
+        booking.setSlotsReserved(true);
+        applyBookingDetails(booking, createBookingDto,
+                priceOf(createBookingDto, createBookingDto.getStartTime(), createBookingDto.getEndTime()));
+
+        Booking savedBooking = bookingRepository.save(booking);
+        outboxService.recordBooking("BookingCreated", savedBooking);
+
+        // Occupy the booked intervals last so their row locks are held only until commit
+        slotCalendarService.reserve(createBookingDto.getStationId(),
+                createBookingDto.getStartTime(), createBookingDto.getEndTime());
+        logger.info("Booking created successfully with ID: {}", savedBooking.getId());
+
+        return convertToDto(savedBooking);
+    }
+
+    /**
+     * Turns a hold into a confirmed booking. The hold already occupies the calendar;
+     * the conditional UPDATE only succeeds while the hold is still live, so it cannot
+     * race the expiry of the same hold.
+     */
+    private BookingDto confirmHold(Long userId, CreateBookingDto createBookingDto, String idempotencyKey,
+                                   String requestHash) {
+        Booking booking = bookingRepository.findById(createBookingDto.getHoldId())
+                .orElseThrow(() -> new RuntimeException("Hold not found"));
+        if (!booking.getStationId().equals(createBookingDto.getStationId())) {
+            throw new RuntimeException("Hold is for a different station");
+        }
+        if (bookingRepository.confirmHold(booking.getId(), userId, LocalDateTime.now()) == 0) {
+            throw new RuntimeException("Hold has expired or does not belong to user");
+        }
+
+        booking.setStatus("Confirmed");
+        booking.setHoldExpiresAt(null);
+        booking.setIdempotencyKey(idempotencyKey);
+        booking.setRequestHash(requestHash);
+        applyBookingDetails(booking, createBookingDto,
+                priceOf(createBookingDto, booking.getStartTime(), booking.getEndTime()));
+        Booking savedBooking = bookingRepository.saveAndFlush(booking);
+        outboxService.recordBooking("BookingConfirmed", savedBooking);
+        logger.info("Hold {} confirmed for user {}", savedBooking.getId(), userId);
+
+        return convertToDto(savedBooking);
+    }
+
+    /**
+     * The amount is priced from the station tariff; a client-sent amount is only
+     * compared for the log, since older clients still compute their own. Stations
+     * without a price keep the client amount, or zero.
+     */
+    private BigDecimal priceOf(CreateBookingDto createBookingDto, LocalDateTime start, LocalDateTime end) {
+        BigDecimal amount = tariffService.price(createBookingDto.getStationId(), start, end);
+        if (amount == null) {
+            return createBookingDto.getAmount() != null ? createBookingDto.getAmount() : BigDecimal.ZERO;
+        }
+        if (createBookingDto.getAmount() != null && createBookingDto.getAmount().compareTo(amount) != 0) {
+            logger.info("Client amount {} for station {} replaced by tariff amount {}",
+                       createBookingDto.getAmount(), createBookingDto.getStationId(), amount);
+        }
+        return amount;
+    }
+
+    private void applyBookingDetails(Booking booking, CreateBookingDto createBookingDto, BigDecimal amount) {
+        booking.setAmount(amount);
         booking.setDate(createBookingDto.getDate() != null ? createBookingDto.getDate() : "");
         booking.setTimeSlot(createBookingDto.getTimeSlot() != null ? createBookingDto.getTimeSlot() : "");
         booking.setDuration(createBookingDto.getDuration());
@@ -54,52 +180,75 @@ public class BookingService {
         booking.setVehicleModel(createBookingDto.getVehicleModel() != null ? createBookingDto.getVehicleModel() : "");
         booking.setVehicleNumber(createBookingDto.getVehicleNumber() != null ? createBookingDto.getVehicleNumber() : "");
         booking.setPaymentId(createBookingDto.getPaymentId() != null ? createBookingDto.getPaymentId() : "");
-
-        // Update station available slots
-        if (station.getAvailableSlots() > 0) {
-            station.setAvailableSlots(station.getAvailableSlots() - 1);
-            stationRepository.save(station);
-        }
-
-        Booking savedBooking = bookingRepository.save(booking);
-        logger.info("Booking created successfully with ID: {}", savedBooking.getId());
-
-        return convertToDto(savedBooking);
     }
 
+    @Transactional(readOnly = true)
     public List<BookingDto> getUserBookings(Long userId) {
         logger.info("Getting bookings for user ID: {}", userId);
         
-        List<Booking> bookings = bookingRepository.findByUserIdWithStation(userId);
+        List<BookingDto> bookings = bookingRepository.findDtosByUserId(userId);
         logger.info("Found {} bookings for user {}", bookings.size(), userId);
         
         // Log each booking status
-        for (Booking booking : bookings) {
+        for (BookingDto booking : bookings) {
             logger.info("Booking ID: {}, Status: {}, Station: {}", 
                        booking.getId(), booking.getStatus(), 
-                       booking.getStation() != null ? booking.getStation().getName() : "Unknown");
+                       booking.getStationName() != null ? booking.getStationName() : "Unknown");
         }
         
-        return bookings.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return bookings;
     }
 
+    @Transactional(readOnly = true)
     public List<BookingDto> getAllBookings() {
-        List<Booking> bookings = bookingRepository.findAllWithStationAndUser();
-        return bookings.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+        return bookingRepository.findAllDtos();
+    }
+
+    /**
+     * Writes every booking to {@code out} as NDJSON or CSV, one row at a time. Rows
+     * are streamed from the database and the persistence context is cleared every
+     * {@link #EXPORT_CLEAR_INTERVAL} rows, so memory use does not grow with the table.
+     * Returns the number of bookings written.
+     */
+    @Transactional(readOnly = true)
+    public long exportAllBookings(String format, OutputStream out) throws IOException {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        BufferedOutputStream buffered = new BufferedOutputStream(out, 64 * 1024);
+        if (csv) {
+            buffered.write(CSV_HEADER.getBytes(StandardCharsets.UTF_8));
+        }
+
+        long count = 0;
+        try (Stream<Booking> bookings = bookingRepository.streamAllWithStationAndUser()) {
+            Iterator<Booking> iterator = bookings.iterator();
+            while (iterator.hasNext()) {
+                BookingDto dto = convertToDto(iterator.next());
+                if (csv) {
+                    buffered.write(toCsvLine(dto).getBytes(StandardCharsets.UTF_8));
+                } else {
+                    buffered.write(objectMapper.writeValueAsBytes(dto));
+                    buffered.write('\n');
+                }
+                if (++count % EXPORT_CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                    buffered.flush();
+                }
+            }
+        }
+        buffered.flush();
+        logger.info("Exported {} bookings as {}", count, csv ? "CSV" : "NDJSON");
+        return count;
     }
 
     @Transactional
     public void cancelUserBooking(Long bookingId, Long userId) {
-        Optional<Booking> bookingOpt = bookingRepository.findById(bookingId);
-        if (bookingOpt.isEmpty()) {
+        // Locked, so a concurrent cancel or expiry sees this one's result instead of releasing again
+        List<Booking> locked = bookingRepository.lockAllById(List.of(bookingId));
+        if (locked.isEmpty()) {
             throw new RuntimeException("Booking not found");
         }
 
-        Booking booking = bookingOpt.get();
+        Booking booking = locked.get(0);
         
         // Verify booking belongs to user
         if (!booking.getUserId().equals(userId)) {
@@ -110,118 +259,253 @@ public class BookingService {
         if ("Cancelled".equals(booking.getStatus())) {
             throw new RuntimeException("Booking is already cancelled");
         }
+        if ("Expired".equals(booking.getStatus())) {
+            throw new RuntimeException("Booking hold has already expired");
+        }
+        if ("Completed".equals(booking.getStatus())) {
+            throw new RuntimeException("Booking is already completed");
+        }
 
         booking.setStatus("Cancelled");
         booking.setCancellationMessage("Cancelled by user");
-
-        // Update station available slots
-        Optional<Station> stationOpt = stationRepository.findById(booking.getStationId());
-        if (stationOpt.isPresent()) {
-            Station station = stationOpt.get();
-            station.setAvailableSlots(station.getAvailableSlots() + 1);
-            stationRepository.save(station);
-        }
-
         bookingRepository.save(booking);
+        outboxService.recordBooking("BookingCancelled", booking);
+
+        // Free the booked intervals
+        releaseToWaitlist(List.of(booking), null);
         logger.info("Booking {} cancelled by user {}", bookingId, userId);
     }
 
     @Transactional
     public void adminCancelBooking(AdminCancelBookingDto cancelDto) {
-        Optional<Booking> bookingOpt = bookingRepository.findById(cancelDto.getBookingId());
-        if (bookingOpt.isEmpty()) {
+        List<Booking> locked = bookingRepository.lockAllById(List.of(cancelDto.getBookingId()));
+        if (locked.isEmpty()) {
             throw new RuntimeException("Booking not found");
         }
 
-        Booking booking = bookingOpt.get();
+        Booking booking = locked.get(0);
+        boolean wasReleased = isReleased(booking.getStatus());
         booking.setStatus("Cancelled");
         booking.setCancellationMessage(cancelDto.getMessage());
+        bookingRepository.save(booking);
+        outboxService.recordBooking("BookingCancelled", booking);
 
-        // Update station available slots
-        Optional<Station> stationOpt = stationRepository.findById(booking.getStationId());
-        if (stationOpt.isPresent()) {
-            Station station = stationOpt.get();
-            station.setAvailableSlots(station.getAvailableSlots() + 1);
-            stationRepository.save(station);
+        // Free the booked intervals, once per booking
+        if (!wasReleased) {
+            releaseToWaitlist(List.of(booking), null);
         }
-
-        bookingRepository.save(booking);
     }
 
+    @Transactional(readOnly = true)
     public List<BookingDto> getBookingsForStationMaster(Long stationId, Long stationMasterId) {
-        // Verify station belongs to station master
-        Optional<Station> stationOpt = stationRepository.findById(stationId);
-        if (stationOpt.isEmpty()) {
-            throw new RuntimeException("Station not found");
-        }
+        verifyStationOwner(stationId, stationMasterId);
         
-        Station station = stationOpt.get();
-        if (!station.getStationMaster().getId().equals(stationMasterId)) {
-            throw new RuntimeException("Unauthorized: Station does not belong to this station master");
+        return bookingRepository.findDtosByStationId(stationId);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<BookingDto> getUserBookingsPage(Long userId, BookingFilter filter, int limit, String cursor) {
+        return getBookingsPage(userId, filter, limit, cursor);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<BookingDto> getAllBookingsPage(BookingFilter filter, int limit, String cursor) {
+        return getBookingsPage(null, filter, limit, cursor);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<BookingDto> getStationBookingsPage(Long stationId, Long stationMasterId, BookingFilter filter,
+                                                         int limit, String cursor) {
+        verifyStationOwner(stationId, stationMasterId);
+        BookingFilter stationFilter = new BookingFilter(filter.getStatus(), filter.getFromDate(), filter.getToDate(),
+                stationId, filter.getPaymentMethod());
+        return getBookingsPage(null, stationFilter, limit, cursor);
+    }
+
+    /**
+     * Moves one booking of the station master's stations to {@code status}, with the
+     * same ownership and transition checks as {@link #bulkUpdateBookingStatus}.
+     */
+    @Transactional
+    public void updateBookingStatus(Long stationMasterId, Long bookingId, String status) {
+        String result = bulkUpdateBookingStatus(stationMasterId, List.of(bookingId), status).get(bookingId);
+        switch (result) {
+            case "NotFound" -> throw new RuntimeException("Booking not found");
+            case "Forbidden" -> throw new RuntimeException("Unauthorized: Station does not belong to this station master");
+            case "InvalidTransition" -> throw new RuntimeException("Booking cannot be moved to '" + status + "'");
+            default -> logger.info("Booking {} moved to '{}' by station master {}: {}",
+                    bookingId, status, stationMasterId, result);
         }
-        
-        List<Booking> bookings = bookingRepository.findByStationIdWithUser(stationId);
-        return bookings.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
     }
 
+    /**
+     * Moves a set of bookings to {@code status} for a station master. The bookings
+     * are locked in one query, ownership of their stations is checked in another,
+     * and every allowed transition is applied with a single UPDATE. Returns the
+     * outcome per booking id, in request order.
+     */
     @Transactional
-    public void updateBookingStatus(Long bookingId, String status) {
-        logger.info("Updating booking {} status to {}", bookingId, status);
-        
-        Optional<Booking> bookingOpt = bookingRepository.findById(bookingId);
-        if (bookingOpt.isEmpty()) {
-            logger.error("Booking not found with ID: {}", bookingId);
-            throw new RuntimeException("Booking not found");
+    public Map<Long, String> bulkUpdateBookingStatus(Long stationMasterId, List<Long> bookingIds, String status) {
+        if (!BULK_TARGET_STATUSES.contains(status)) {
+            throw new RuntimeException("Status must be one of " + BULK_TARGET_STATUSES);
         }
-        
-        Booking booking = bookingOpt.get();
-        String oldStatus = booking.getStatus();
-        booking.setStatus(status);
-        
-        Booking savedBooking = bookingRepository.save(booking);
-        logger.info("Booking {} status updated from '{}' to '{}'. Saved booking status: {}", 
-                   bookingId, oldStatus, status, savedBooking.getStatus());
+        List<Long> ids = bookingIds.stream().distinct().collect(Collectors.toList());
+
+        Map<Long, Booking> bookings = new HashMap<>();
+        for (Booking booking : bookingRepository.lockAllById(ids)) {
+            bookings.put(booking.getId(), booking);
+        }
+        Set<Long> stationIds = bookings.values().stream().map(Booking::getStationId).collect(Collectors.toSet());
+        Set<Long> ownedStationIds = stationIds.isEmpty() ? Set.of()
+                : new HashSet<>(stationRepository.findIdsOwnedBy(stationIds, stationMasterId));
+
+        Map<Long, String> results = new LinkedHashMap<>();
+        List<Long> updateIds = new ArrayList<>();
+        List<Booking> released = new ArrayList<>();
+        List<Booking> completed = new ArrayList<>();
+
+        for (Long id : ids) {
+            Booking booking = bookings.get(id);
+            if (booking == null) {
+                results.put(id, "NotFound");
+            } else if (!ownedStationIds.contains(booking.getStationId())) {
+                results.put(id, "Forbidden");
+            } else if (status.equals(booking.getStatus())) {
+                results.put(id, "Unchanged");
+            } else if (isReleased(booking.getStatus()) || "Held".equals(booking.getStatus())) {
+                results.put(id, "InvalidTransition");
+            } else {
+                results.put(id, "Updated");
+                updateIds.add(id);
+                if ("Cancelled".equals(status)) {
+                    released.add(booking);
+                } else if ("Completed".equals(status)) {
+                    completed.add(booking);
+                }
+            }
+        }
+
+        if (!updateIds.isEmpty()) {
+            bookingRepository.updateStatus(updateIds, status, LocalDateTime.now());
+            outboxService.recordBookings("BookingStatusChanged",
+                    updateIds.stream().map(bookings::get).collect(Collectors.toList()), status);
+        }
+        if (!released.isEmpty()) {
+            releaseToWaitlist(released, null);
+        }
+        if (!completed.isEmpty()) {
+            releaseToWaitlist(completed, LocalDateTime.now());
+        }
+        logger.info("Station master {} moved {} of {} bookings to '{}'",
+                   stationMasterId, updateIds.size(), ids.size(), status);
+        return results;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<BookingDto> findByIdempotencyKey(String idempotencyKey) {
+        return bookingRepository.findDtoByIdempotencyKey(idempotencyKey);
+    }
+
+    public Optional<String> findRequestHash(String idempotencyKey) {
+        return bookingRepository.findRequestHashByIdempotencyKey(idempotencyKey);
     }
 
     public boolean bookingExists(Long bookingId) {
         return bookingRepository.existsById(bookingId);
     }
 
+    @Transactional(readOnly = true)
     public Optional<Booking> findById(Long bookingId) {
         return bookingRepository.findById(bookingId);
     }
 
-    private BookingDto convertToDto(Booking booking) {
-        BookingDto dto = new BookingDto();
-        dto.setId(booking.getId());
-        dto.setUserId(booking.getUserId());
-        dto.setStationId(booking.getStationId());
-        dto.setStartTime(booking.getStartTime());
-        dto.setEndTime(booking.getEndTime());
-        dto.setStatus(booking.getStatus() != null ? booking.getStatus() : "Confirmed");
-        dto.setAmount(booking.getAmount());
-        dto.setDate(booking.getDate() != null ? booking.getDate() : "");
-        dto.setTimeSlot(booking.getTimeSlot() != null ? booking.getTimeSlot() : "");
-        dto.setDuration(booking.getDuration());
-        dto.setPaymentMethod(booking.getPaymentMethod() != null ? booking.getPaymentMethod() : "Card");
-        dto.setVehicleType(booking.getVehicleType() != null ? booking.getVehicleType() : "");
-        dto.setVehicleBrand(booking.getVehicleBrand() != null ? booking.getVehicleBrand() : "");
-        dto.setVehicleModel(booking.getVehicleModel() != null ? booking.getVehicleModel() : "");
-        dto.setVehicleNumber(booking.getVehicleNumber() != null ? booking.getVehicleNumber() : "");
-        dto.setPaymentId(booking.getPaymentId() != null ? booking.getPaymentId() : "");
-        dto.setCreatedAt(booking.getCreatedAt());
-        dto.setCancellationMessage(booking.getCancellationMessage());
-        
-        // Set station and user names if available
-        if (booking.getStation() != null) {
-            dto.setStationName(booking.getStation().getName());
+    /**
+     * One newest-first page, keyed on (createdAt, id): the query seeks straight to
+     * the cursor position, so a deep page costs the same as the first one.
+     */
+    private CursorPage<BookingDto> getBookingsPage(Long userId, BookingFilter filter, int limit, String cursor) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        KeysetCursor after = KeysetCursor.parse(cursor);
+        LocalDateTime afterCreatedAt = null;
+        Long afterId = null;
+        if (after != null) {
+            try {
+                afterCreatedAt = LocalDateTime.parse(after.getKey());
+            } catch (DateTimeParseException e) {
+                throw new RuntimeException("Invalid cursor: " + cursor);
+            }
+            afterId = after.getId();
         }
-        if (booking.getUser() != null) {
-            dto.setUserName(booking.getUser().getName());
+
+        // One extra row tells us whether there is a next page
+        List<BookingDto> bookings = bookingRepository.findPage(userId, filter, afterCreatedAt, afterId, pageSize + 1);
+        String nextCursor = null;
+        if (bookings.size() > pageSize) {
+            bookings = bookings.subList(0, pageSize);
+            BookingDto last = bookings.get(pageSize - 1);
+            nextCursor = KeysetCursor.encode(last.getCreatedAt(), last.getId());
         }
-        
-        return dto;
+        return new CursorPage<>(bookings, nextCursor);
+    }
+
+    private void verifyStationOwner(Long stationId, Long stationMasterId) {
+        Optional<Station> stationOpt = stationRepository.findById(stationId);
+        if (stationOpt.isEmpty()) {
+            throw new RuntimeException("Station not found");
+        }
+
+        Station station = stationOpt.get();
+        if (!station.getStationMaster().getId().equals(stationMasterId)) {
+            throw new RuntimeException("Unauthorized: Station does not belong to this station master");
+        }
+    }
+
+    private static String toCsvLine(BookingDto dto) {
+        return String.join(",",
+                csvValue(dto.getId()), csvValue(dto.getUserId()), csvValue(dto.getUserName()),
+                csvValue(dto.getStationId()), csvValue(dto.getStationName()),
+                csvValue(dto.getStartTime()), csvValue(dto.getEndTime()), csvValue(dto.getStatus()),
+                csvValue(dto.getAmount()), csvValue(dto.getPaymentMethod()), csvValue(dto.getPaymentId()),
+                csvValue(dto.getCreatedAt())) + "\n";
+    }
+
+    private static String csvValue(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.contains(",") || text.contains("\"") || text.contains("\n") || text.contains("\r")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+
+    /**
+     * Releases the bookings' intervals from {@code from} on (all of them when null)
+     * and offers the freed time to each station's waitlist in this transaction.
+     */
+    private void releaseToWaitlist(List<Booking> bookings, LocalDateTime from) {
+        slotCalendarService.releaseAll(bookings, from);
+        for (Booking booking : bookings) {
+            LocalDateTime start = from != null && booking.getStartTime() != null && from.isAfter(booking.getStartTime())
+                    ? from : booking.getStartTime();
+            waitlistService.promote(booking.getStationId(), start, booking.getEndTime());
+        }
+    }
+
+    // Statuses whose remaining intervals have already been given back to the calendar
+    private static boolean isReleased(String status) {
+        return "Cancelled".equals(status) || "Expired".equals(status) || "Completed".equals(status);
+    }
+
+    private BookingDto convertToDto(Booking booking) {
+        return new BookingDto(booking.getId(), booking.getUserId(), booking.getStationId(),
+                booking.getStartTime(), booking.getEndTime(), booking.getStatus(), booking.getAmount(),
+                booking.getDate(), booking.getTimeSlot(), booking.getDuration(), booking.getPaymentMethod(),
+                booking.getVehicleType(), booking.getVehicleBrand(), booking.getVehicleModel(),
+                booking.getVehicleNumber(), booking.getPaymentId(), booking.getCreatedAt(),
+                booking.getCancellationMessage(), booking.getHoldExpiresAt(),
+                booking.getStation() != null ? booking.getStation().getName() : null,
+                booking.getUser() != null ? booking.getUser().getName() : null);
     }
 }
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.evcharger.api.service;
+
+import com.evcharger.api.repository.BookingRepository;
+import com.evcharger.api.repository.StationRepository;
+import com.evcharger.api.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Admin dashboard totals computed with aggregate queries: two COUNT(*)s and one
+ * GROUP BY over the (status, amount) index, never loading entities. The result
+ * is cached briefly, so the dashboard is answered from memory and concurrent
+ * admins trigger at most one refresh.
+ */
+@Service
+public class DashboardService {
+
+    private static final long CACHE_MILLIS = 30000;
+
+    // Bookings that count as paid revenue; holds, cancellations and expiries do not
+    private static final Set<String> REVENUE_STATUSES = Set.of("Confirmed", "Completed");
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StationRepository stationRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    private volatile Map<String, Object> cachedStats;
+    private volatile long cachedAt;
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = cachedStats;
+        if (stats != null && System.currentTimeMillis() - cachedAt < CACHE_MILLIS) {
+            return stats;
+        }
+        synchronized (this) {
+            if (cachedStats == null || System.currentTimeMillis() - cachedAt >= CACHE_MILLIS) {
+                cachedStats = loadStats();
+                cachedAt = System.currentTimeMillis();
+            }
+            return cachedStats;
+        }
+    }
+
+    private Map<String, Object> loadStats() {
+        long totalBookings = 0;
+        long activeBookings = 0;
+        BigDecimal revenue = BigDecimal.ZERO;
+        Map<String, Long> bookingsByStatus = new LinkedHashMap<>();
+
+        for (Object[] row : bookingRepository.countAndSumByStatus()) {
+            String status = (String) row[0];
+            long count = ((Number) row[1]).longValue();
+            BigDecimal amount = (BigDecimal) row[2];
+
+            totalBookings += count;
+            bookingsByStatus.put(status != null ? status : "Unknown", count);
+            if ("Confirmed".equals(status)) {
+                activeBookings = count;
+            }
+            if (REVENUE_STATUSES.contains(status) && amount != null) {
+                revenue = revenue.add(amount);
+            }
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("totalUsers", userRepository.count());
+        stats.put("totalStations", stationRepository.count());
+        stats.put("totalBookings", totalBookings);
+        stats.put("activeBookings", activeBookings);
+        stats.put("revenue", revenue);
+        stats.put("bookingsByStatus", bookingsByStatus);
+        stats.put("generatedAt", LocalDateTime.now());
+        return stats;
+    }
+}
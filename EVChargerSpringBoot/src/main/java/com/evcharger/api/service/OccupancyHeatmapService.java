@@ -0,0 +1,211 @@
+package com.evcharger.api.service;
+
+import com.evcharger.api.dto.OccupancyHeatmapDto;
+import com.evcharger.api.entity.RollupWatermark;
+import com.evcharger.api.entity.StationOccupancyCell;
+import com.evcharger.api.repository.BookingRepository;
+import com.evcharger.api.repository.OccupancyCountedBookingRepository;
+import com.evcharger.api.repository.RollupWatermarkRepository;
+import com.evcharger.api.repository.StationOccupancyCellRepository;
+import com.evcharger.api.repository.StationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hour-of-week occupancy per station, kept as counters in {@code StationOccupancyCells}
+ * so that a heatmap is read from 168 rows instead of the station's booking history.
+ *
+ * A scheduled job looks at the bookings whose {@code updatedAt} moved past its
+ * watermark. A booking adds its minutes to the hour buckets it spans when it becomes
+ * Confirmed or Completed, and takes them back out if it later leaves those statuses.
+ * The job's own {@code OccupancyCountedBookings} table records which bookings are
+ * currently included, which keeps the deltas exact when the overlap before the
+ * watermark re-reads a booking.
+ */
+@Service
+public class OccupancyHeatmapService {
+    private static final Logger logger = LoggerFactory.getLogger(OccupancyHeatmapService.class);
+
+    private static final String WATERMARK = "station-occupancy";
+    private static final long OVERLAP_SECONDS = 60;
+    private static final int BATCH_SIZE = 1000;
+    private static final int HOURS_PER_WEEK = 7 * 24;
+
+    private static final Set<String> SESSION_STATUSES = Set.of("Confirmed", "Completed");
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private StationOccupancyCellRepository stationOccupancyCellRepository;
+
+    @Autowired
+    private OccupancyCountedBookingRepository occupancyCountedBookingRepository;
+
+    @Autowired
+    private RollupWatermarkRepository rollupWatermarkRepository;
+
+    @Autowired
+    private StationRepository stationRepository;
+
+    @Scheduled(fixedDelay = 60000, initialDelay = 45000)
+    @Transactional
+    public void refresh() {
+        LocalDateTime until = LocalDateTime.now();
+        RollupWatermark watermark = rollupWatermarkRepository.lockByName(WATERMARK)
+                .orElseGet(() -> rollupWatermarkRepository.save(new RollupWatermark(WATERMARK)));
+        LocalDateTime since = watermark.getWatermark() == null
+                ? null : watermark.getWatermark().minusSeconds(OVERLAP_SECONDS);
+
+        Map<Long, long[]> deltas = new HashMap<>();
+        int changed = 0;
+        long afterId = 0;
+        List<Object[]> rows;
+        do {
+            // The first run has no watermark and counts all history
+            rows = since == null
+                    ? bookingRepository.findOccupancyRows(afterId, PageRequest.of(0, BATCH_SIZE))
+                    : bookingRepository.findChangedOccupancyRows(since, until, afterId, PageRequest.of(0, BATCH_SIZE));
+            List<Long> ids = new ArrayList<>(rows.size());
+            for (Object[] row : rows) {
+                ids.add((Long) row[0]);
+            }
+            Set<Long> countedIds = ids.isEmpty() ? Set.of()
+                    : new HashSet<>(occupancyCountedBookingRepository.findCounted(ids));
+
+            List<Long> added = new ArrayList<>();
+            List<Long> removed = new ArrayList<>();
+            for (Object[] row : rows) {
+                Long id = (Long) row[0];
+                afterId = id;
+                LocalDateTime start = (LocalDateTime) row[2];
+                LocalDateTime end = (LocalDateTime) row[3];
+                boolean counted = countedIds.contains(id);
+                boolean session = SESSION_STATUSES.contains((String) row[4])
+                        && start != null && end != null && end.isAfter(start);
+                if (session == counted) {
+                    continue;
+                }
+                spread(deltas.computeIfAbsent((Long) row[1], stationId -> new long[HOURS_PER_WEEK]),
+                        start, end, session ? 1 : -1);
+                (session ? added : removed).add(id);
+            }
+            if (!added.isEmpty()) {
+                occupancyCountedBookingRepository.addAll(added);
+            }
+            if (!removed.isEmpty()) {
+                occupancyCountedBookingRepository.removeAll(removed);
+            }
+            changed += added.size() + removed.size();
+        } while (rows.size() == BATCH_SIZE);
+
+        deltas.forEach(this::apply);
+        watermark.setWatermark(until);
+        rollupWatermarkRepository.save(watermark);
+        if (changed > 0) {
+            logger.info("Applied {} booking changes to the occupancy of {} stations", changed, deltas.size());
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public OccupancyHeatmapDto getStationHeatmap(Long stationId) {
+        if (!stationRepository.existsById(stationId)) {
+            throw new RuntimeException("Station not found");
+        }
+        long[] minutes = new long[HOURS_PER_WEEK];
+        for (StationOccupancyCell cell : stationOccupancyCellRepository.findByStationId(stationId)) {
+            minutes[cell.getHourOfWeek()] = cell.getBookedMinutes();
+        }
+        Integer totalSlots = stationRepository.findTotalSlots(stationId);
+        OccupancyHeatmapDto dto = toDto(minutes, totalSlots != null && totalSlots > 0 ? totalSlots : 1,
+                bookingRepository.findFirstCreatedAt(stationId));
+        dto.setStationId(stationId);
+        return dto;
+    }
+
+    @Transactional(readOnly = true)
+    public OccupancyHeatmapDto getStationHeatmapForMaster(Long stationId, Long stationMasterId) {
+        if (stationRepository.findIdsOwnedBy(List.of(stationId), stationMasterId).isEmpty()) {
+            throw new RuntimeException("Unauthorized: Station does not belong to this station master");
+        }
+        return getStationHeatmap(stationId);
+    }
+
+    /** Heatmap over all stations, against their combined slots. */
+    @Transactional(readOnly = true)
+    public OccupancyHeatmapDto getAllStationsHeatmap() {
+        long[] minutes = new long[HOURS_PER_WEEK];
+        for (Object[] row : stationOccupancyCellRepository.sumByHourOfWeek()) {
+            minutes[(Integer) row[0]] = ((Number) row[1]).longValue();
+        }
+        return toDto(minutes, stationRepository.sumTotalSlots(), bookingRepository.findFirstCreatedAt());
+    }
+
+    /** Adds {@code sign} times the minutes of [start, end) to the hour-of-week buckets they fall in. */
+    private static void spread(long[] minutes, LocalDateTime start, LocalDateTime end, int sign) {
+        for (LocalDateTime time = start; time.isBefore(end); ) {
+            LocalDateTime next = time.truncatedTo(ChronoUnit.HOURS).plusHours(1);
+            if (next.isAfter(end)) {
+                next = end;
+            }
+            int hourOfWeek = (time.getDayOfWeek().getValue() - 1) * 24 + time.getHour();
+            minutes[hourOfWeek] += sign * Duration.between(time, next).toMinutes();
+            time = next;
+        }
+    }
+
+    private void apply(Long stationId, long[] delta) {
+        StationOccupancyCell[] cells = new StationOccupancyCell[HOURS_PER_WEEK];
+        for (StationOccupancyCell cell : stationOccupancyCellRepository.findByStationId(stationId)) {
+            cells[cell.getHourOfWeek()] = cell;
+        }
+        List<StationOccupancyCell> updated = new ArrayList<>();
+        for (int hour = 0; hour < HOURS_PER_WEEK; hour++) {
+            if (delta[hour] == 0) {
+                continue;
+            }
+            if (cells[hour] == null) {
+                cells[hour] = new StationOccupancyCell(stationId, hour);
+            }
+            cells[hour].setBookedMinutes(Math.max(0, cells[hour].getBookedMinutes() + delta[hour]));
+            updated.add(cells[hour]);
+        }
+        stationOccupancyCellRepository.saveAll(updated);
+    }
+
+    private static OccupancyHeatmapDto toDto(long[] minutes, long capacity, LocalDateTime firstBooking) {
+        // Each hour bucket has occurred once per week since the first booking
+        long weeks = firstBooking == null ? 1
+                : Math.max(1, (ChronoUnit.DAYS.between(firstBooking, LocalDateTime.now()) + 6) / 7);
+        double available = Math.max(1, capacity) * 60.0 * weeks;
+
+        long[][] booked = new long[7][24];
+        double[][] occupancy = new double[7][24];
+        for (int hour = 0; hour < HOURS_PER_WEEK; hour++) {
+            booked[hour / 24][hour % 24] = minutes[hour];
+            occupancy[hour / 24][hour % 24] = Math.round(minutes[hour] / available * 10000) / 10000.0;
+        }
+
+        OccupancyHeatmapDto dto = new OccupancyHeatmapDto();
+        dto.setCapacity(capacity);
+        dto.setWeeks(weeks);
+        dto.setBookedMinutes(booked);
+        dto.setOccupancy(occupancy);
+        return dto;
+    }
+}
@@ -0,0 +1,195 @@
+package com.evcharger.api.service;
+
+import com.evcharger.api.entity.Booking;
+import com.evcharger.api.entity.OutboxEvent;
+import com.evcharger.api.entity.Station;
+import com.evcharger.api.event.DomainEvent;
+import com.evcharger.api.repository.OutboxEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Transactional outbox for booking and station events. Mutations record their
+ * events with {@link #recordBooking}/{@link #recordStation} inside their own
+ * transaction, so an event exists exactly when its change committed. A relay
+ * then delivers pending events in id order as {@link DomainEvent}s to
+ * in-process listeners, off the request thread.
+ *
+ * Delivery is at least once: a batch is marked dispatched only when the relay
+ * transaction commits. Each event is delivered in a transaction of its own, so a
+ * listener that fails rolls back only its own work and the relay still records the
+ * attempt. When a listener throws, the event stays pending and the later events of
+ * the same station are held back until it succeeds, or until it is parked as Failed
+ * after {@link #MAX_ATTEMPTS}.
+ */
+@Service
+public class OutboxService {
+    private static final Logger logger = LoggerFactory.getLogger(OutboxService.class);
+
+    private static final int RELAY_BATCH_SIZE = 200;
+    private static final int MAX_ATTEMPTS = 10;
+    private static final int RETENTION_DAYS = 7;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate deliveryTemplate;
+
+    public OutboxService(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.deliveryTemplate = new TransactionTemplate(transactionManager);
+        this.deliveryTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(String aggregateType, Long aggregateId, Long stationId, String eventType,
+                       Map<String, Object> payload) {
+        outboxEventRepository.save(new OutboxEvent(aggregateType, aggregateId, stationId, eventType, toJson(payload)));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordBooking(String eventType, Booking booking) {
+        record("Booking", booking.getId(), booking.getStationId(), eventType,
+                bookingPayload(booking, booking.getStatus()));
+    }
+
+    /** Records one event per booking for a bulk change that set them all to {@code status}. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordBookings(String eventType, List<Booking> bookings, String status) {
+        List<OutboxEvent> events = new ArrayList<>(bookings.size());
+        for (Booking booking : bookings) {
+            events.add(new OutboxEvent("Booking", booking.getId(), booking.getStationId(), eventType,
+                    toJson(bookingPayload(booking, status))));
+        }
+        outboxEventRepository.saveAll(events);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordStation(String eventType, Station station) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("stationId", station.getId());
+        payload.put("status", station.getStatus());
+        payload.put("approvalStatus", station.getApprovalStatus());
+        payload.put("pricePerKwh", station.getPricePerKwh());
+        payload.put("totalSlots", station.getTotalSlots());
+        record("Station", station.getId(), station.getId(), eventType, payload);
+    }
+
+    @Scheduled(fixedDelay = 1000, initialDelay = 5000)
+    public void relay() {
+        try {
+            Integer delivered;
+            do {
+                delivered = transactionTemplate.execute(status -> dispatchBatch());
+            } while (delivered != null && delivered == RELAY_BATCH_SIZE);
+        } catch (RuntimeException e) {
+            // Nothing of the failed batch was marked; it is retried on the next run
+            logger.error("Outbox relay failed: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(cron = "0 15 3 * * *")
+    @Transactional
+    public void purgeDispatched() {
+        int purged = outboxEventRepository.deleteDispatchedBefore(LocalDateTime.now().minusDays(RETENTION_DAYS));
+        if (purged > 0) {
+            logger.info("Purged {} dispatched outbox events", purged);
+        }
+    }
+
+    /** Delivers one batch and returns the number of events delivered. */
+    private int dispatchBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.lockPending(PageRequest.of(0, RELAY_BATCH_SIZE));
+        LocalDateTime now = LocalDateTime.now();
+        Set<Long> blockedStations = new HashSet<>();
+        List<Long> delivered = new ArrayList<>();
+
+        for (OutboxEvent event : batch) {
+            if (event.getStationId() != null && blockedStations.contains(event.getStationId())) {
+                continue;
+            }
+            try {
+                // Listeners join this transaction; a failure rolls back only their work, not the relay's
+                deliveryTemplate.executeWithoutResult(status ->
+                        eventPublisher.publishEvent(new DomainEvent(event.getId(), event.getAggregateType(),
+                                event.getAggregateId(), event.getStationId(), event.getEventType(),
+                                event.getPayload(), event.getCreatedAt())));
+                delivered.add(event.getId());
+            } catch (RuntimeException e) {
+                event.setAttempts(event.getAttempts() + 1);
+                event.setLastError(truncate(e.getMessage()));
+                if (event.getAttempts() >= MAX_ATTEMPTS) {
+                    event.setStatus("Failed");
+                    event.setProcessedAt(now);
+                    logger.error("Outbox event {} ({}) parked after {} attempts: {}",
+                            event.getId(), event.getEventType(), event.getAttempts(), e.getMessage());
+                } else {
+                    if (event.getStationId() != null) {
+                        blockedStations.add(event.getStationId());
+                    }
+                    logger.warn("Outbox event {} ({}) failed, will retry: {}",
+                            event.getId(), event.getEventType(), e.getMessage());
+                }
+            }
+        }
+
+        if (!delivered.isEmpty()) {
+            outboxEventRepository.markDispatched(delivered, now);
+        }
+        return delivered.size();
+    }
+
+    private static Map<String, Object> bookingPayload(Booking booking, String status) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("bookingId", booking.getId());
+        payload.put("userId", booking.getUserId());
+        payload.put("stationId", booking.getStationId());
+        payload.put("status", status);
+        payload.put("startTime", booking.getStartTime());
+        payload.put("endTime", booking.getEndTime());
+        payload.put("amount", booking.getAmount());
+        return payload;
+    }
+
+    private String toJson(Map<String, Object> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not serialize outbox payload", e);
+        }
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 1000 ? message.substring(0, 1000) : message;
+    }
+}
@@ -0,0 +1,105 @@
+package com.evcharger.api.service;
+
+import com.evcharger.api.dto.CreateReviewDto;
+import com.evcharger.api.dto.CursorPage;
+import com.evcharger.api.dto.ReviewDto;
+import com.evcharger.api.dto.ReviewFilter;
+import com.evcharger.api.entity.Review;
+import com.evcharger.api.repository.ReviewRepository;
+import com.evcharger.api.repository.StationRepository;
+import com.evcharger.api.util.KeysetCursor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Creates reviews and keeps the station's rating totals in step with them. The
+ * totals are bumped with a single UPDATE in the review's transaction, so
+ * concurrent reviews of one station never lose an increment and the average is
+ * read from the station row without loading any reviews.
+ */
+@Service
+public class ReviewService {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private StationRepository stationRepository;
+
+    @Transactional
+    public Review createReview(Long userId, CreateReviewDto dto) {
+        // Also locks the station row, so its totals and the review commit together
+        if (stationRepository.addRating(dto.getStationId(), dto.getRating()) == 0) {
+            throw new RuntimeException("Station not found");
+        }
+
+        Review review = new Review();
+        review.setUserId(userId);
+        review.setStationId(dto.getStationId());
+        review.setRating(dto.getRating());
+        review.setComment(dto.getComment());
+        return reviewRepository.save(review);
+    }
+
+    /** All reviews, lowest rated first. */
+    @Transactional(readOnly = true)
+    public List<ReviewDto> getAllReviews() {
+        return reviewRepository.findAllDtos();
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<ReviewDto> getReviewsPage(ReviewFilter filter, int limit, String cursor) {
+        return getReviewsPage(null, filter, limit, cursor);
+    }
+
+    /** All reviews of the station master's stations, lowest rated first. */
+    @Transactional(readOnly = true)
+    public List<ReviewDto> getStationMasterReviews(Long stationMasterId) {
+        return reviewRepository.findDtosByStationMasterId(stationMasterId);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<ReviewDto> getStationMasterReviewsPage(Long stationMasterId, ReviewFilter filter,
+                                                            int limit, String cursor) {
+        return getReviewsPage(stationMasterId, filter, limit, cursor);
+    }
+
+    /**
+     * One lowest-rated-first page, keyed on (rating, id): the query seeks straight to
+     * the cursor position, so a deep page costs the same as the first one.
+     */
+    private CursorPage<ReviewDto> getReviewsPage(Long stationMasterId, ReviewFilter filter, int limit, String cursor) {
+        if (filter.getMinRating() != null && filter.getMaxRating() != null
+                && filter.getMinRating() > filter.getMaxRating()) {
+            throw new RuntimeException("'minRating' must not be greater than 'maxRating'");
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        KeysetCursor after = KeysetCursor.parse(cursor);
+        Integer afterRating = null;
+        Long afterId = null;
+        if (after != null) {
+            try {
+                afterRating = Integer.valueOf(after.getKey());
+            } catch (NumberFormatException e) {
+                throw new RuntimeException("Invalid cursor: " + cursor);
+            }
+            afterId = after.getId();
+        }
+
+        // One extra row tells us whether there is a next page
+        List<ReviewDto> reviews = reviewRepository.findPage(stationMasterId, filter, afterRating, afterId,
+                pageSize + 1);
+        String nextCursor = null;
+        if (reviews.size() > pageSize) {
+            reviews = reviews.subList(0, pageSize);
+            ReviewDto last = reviews.get(pageSize - 1);
+            nextCursor = KeysetCursor.encode(last.getRating(), last.getId());
+        }
+        return new CursorPage<>(reviews, nextCursor);
+    }
+}
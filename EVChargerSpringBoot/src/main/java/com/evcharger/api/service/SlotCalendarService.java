@@ -0,0 +1,337 @@
+package com.evcharger.api.service;
+
+import com.evcharger.api.dto.SlotAvailabilityDto;
+import com.evcharger.api.entity.Booking;
+import com.evcharger.api.entity.StationSlot;
+import com.evcharger.api.event.StationAvailabilityEvent;
+import com.evcharger.api.repository.BookingRepository;
+import com.evcharger.api.repository.StationRepository;
+import com.evcharger.api.repository.StationSlotRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-station capacity calendar. Each day is split into fixed intervals of
+ * {@link #SLOT_MINUTES}; a booking occupies every interval its time range touches,
+ * and an interval is full once {@code totalSlots} bookings occupy it.
+ *
+ * {@code Station.availableSlots} is kept as a cache of the free capacity of the
+ * interval containing "now", so existing readers keep working.
+ */
+@Service
+public class SlotCalendarService {
+    private static final Logger logger = LoggerFactory.getLogger(SlotCalendarService.class);
+
+    public static final int SLOT_MINUTES = 30;
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+
+    private static final int MAX_BOOKING_SLOTS = SLOTS_PER_DAY;
+    private static final int MAX_RANGE_DAYS = 31;
+
+    private static final Set<String> LIVE_STATUSES = Set.of("Confirmed", "Pending", "Held");
+
+    @Autowired
+    private StationSlotRepository stationSlotRepository;
+
+    @Autowired
+    private StationRepository stationRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private StationSnapshot stationSnapshot;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /** One calendar interval, identified by its day and index within the day. */
+    record Slot(LocalDate date, int index) {
+        LocalDateTime start() {
+            return date.atStartOfDay().plusMinutes((long) index * SLOT_MINUTES);
+        }
+
+        static Slot containing(LocalDateTime time) {
+            int minutes = time.getHour() * 60 + time.getMinute();
+            return new Slot(time.toLocalDate(), minutes / SLOT_MINUTES);
+        }
+
+        Slot previous() {
+            return index > 0 ? new Slot(date, index - 1) : new Slot(date.minusDays(1), SLOTS_PER_DAY - 1);
+        }
+    }
+
+    /**
+     * Occupies one unit of capacity in every interval touched by [start, end).
+     * Returns false, with nothing occupied, if any of those intervals is full.
+     */
+    @Transactional
+    public boolean tryReserve(Long stationId, LocalDateTime start, LocalDateTime end) {
+        List<Slot> slots = bookableSlots(start, end);
+        int capacity = capacityOf(stationId);
+        ensureRows(stationId, slots);
+
+        // Intervals are always taken in time order, so two bookings cannot deadlock
+        for (int i = 0; i < slots.size(); i++) {
+            Slot slot = slots.get(i);
+            if (stationSlotRepository.increment(stationId, slot.date(), slot.index(), capacity) == 0) {
+                for (int j = 0; j < i; j++) {
+                    Slot taken = slots.get(j);
+                    stationSlotRepository.decrement(stationId, taken.date(), taken.index());
+                }
+                return false;
+            }
+        }
+        syncIfCurrent(stationId, slots);
+        return true;
+    }
+
+    /** Throws unless [start, end) is a range a single booking may occupy. */
+    public void validateRange(LocalDateTime start, LocalDateTime end) {
+        bookableSlots(start, end);
+    }
+
+    @Transactional
+    public void reserve(Long stationId, LocalDateTime start, LocalDateTime end) {
+        if (!tryReserve(stationId, start, end)) {
+            throw new RuntimeException("No available slots at this station for the requested time");
+        }
+    }
+
+    /**
+     * Releases the intervals of several bookings, refreshing each affected station once.
+     * Bookings that were never counted in the calendar, or were already released,
+     * release nothing. Callers hold the bookings' row locks, so clearing
+     * {@code slotsReserved} here makes a second release of the same booking a no-op.
+     */
+    @Transactional
+    public void releaseAll(List<Booking> bookings) {
+        releaseAll(bookings, null);
+    }
+
+    /**
+     * Like {@link #releaseAll(List)}, but only releases what lies at or after
+     * {@code from}; used when bookings finish early and their past intervals stay used.
+     */
+    @Transactional
+    public void releaseAll(List<Booking> bookings, LocalDateTime from) {
+        Slot current = Slot.containing(LocalDateTime.now());
+        Set<Long> currentStations = new HashSet<>();
+        List<Long> releasedIds = new ArrayList<>();
+
+        for (Booking booking : bookings) {
+            if (!Boolean.TRUE.equals(booking.getSlotsReserved())) {
+                continue;
+            }
+            releasedIds.add(booking.getId());
+            booking.setSlotsReserved(false);
+            LocalDateTime start = booking.getStartTime();
+            if (start != null && from != null && from.isAfter(start)) {
+                start = from;
+            }
+            if (start == null || booking.getEndTime() == null || !booking.getEndTime().isAfter(start)) {
+                continue;
+            }
+            List<Slot> slots = slotsBetween(start, booking.getEndTime());
+            for (Slot slot : slots) {
+                stationSlotRepository.decrement(booking.getStationId(), slot.date(), slot.index());
+            }
+            if (slots.contains(current)) {
+                currentStations.add(booking.getStationId());
+            }
+        }
+        if (!releasedIds.isEmpty()) {
+            bookingRepository.clearSlotsReserved(releasedIds);
+        }
+        for (Long stationId : currentStations) {
+            syncAvailableSlots(stationId, current);
+        }
+    }
+
+    /**
+     * Counts the live bookings made before the calendar existed into it, once. They
+     * were never reserved, so releasing them would otherwise free capacity that
+     * belongs to newer bookings. The bookings are locked, so concurrent runs on
+     * several instances cannot count one twice. Returns the number of bookings counted.
+     */
+    @Transactional
+    public int backfillLiveBookings() {
+        List<Booking> bookings = bookingRepository.lockUnreservedLive(LIVE_STATUSES, LocalDateTime.now());
+        if (bookings.isEmpty()) {
+            return 0;
+        }
+        Slot current = Slot.containing(LocalDateTime.now());
+        Set<Long> currentStations = new HashSet<>();
+        List<Long> ids = new ArrayList<>(bookings.size());
+
+        for (Booking booking : bookings) {
+            ids.add(booking.getId());
+            if (booking.getStartTime() == null || !booking.getEndTime().isAfter(booking.getStartTime())) {
+                continue;
+            }
+            List<Slot> slots = slotsBetween(booking.getStartTime(), booking.getEndTime());
+            ensureRows(booking.getStationId(), slots);
+            for (Slot slot : slots) {
+                stationSlotRepository.add(booking.getStationId(), slot.date(), slot.index());
+            }
+            if (slots.contains(current)) {
+                currentStations.add(booking.getStationId());
+            }
+        }
+        bookingRepository.markSlotsReserved(ids);
+        for (Long stationId : currentStations) {
+            syncAvailableSlots(stationId, current);
+        }
+        return ids.size();
+    }
+
+    /**
+     * Free capacity of the station between the start of {@code fromDate} and the end
+     * of {@code toDate}, read with a single query. Consecutive intervals with the same
+     * free count are merged; fully booked and past intervals are omitted.
+     */
+    @Transactional(readOnly = true)
+    public List<SlotAvailabilityDto> getFreeIntervals(Long stationId, LocalDate fromDate, LocalDate toDate) {
+        if (toDate.isBefore(fromDate)) {
+            throw new RuntimeException("'to' must not be before 'from'");
+        }
+        if (ChronoUnit.DAYS.between(fromDate, toDate) >= MAX_RANGE_DAYS) {
+            throw new RuntimeException("Date range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+        int capacity = capacityOf(stationId);
+
+        Map<Slot, Integer> booked = new HashMap<>();
+        for (StationSlot row : stationSlotRepository.findByStationIdAndDateRange(stationId, fromDate, toDate)) {
+            booked.put(new Slot(row.getSlotDate(), row.getSlotIndex()), row.getBooked());
+        }
+
+        List<SlotAvailabilityDto> intervals = new ArrayList<>();
+        Slot now = Slot.containing(LocalDateTime.now());
+        SlotAvailabilityDto open = null;
+
+        for (LocalDate date = fromDate; !date.isAfter(toDate); date = date.plusDays(1)) {
+            for (int index = 0; index < SLOTS_PER_DAY; index++) {
+                Slot slot = new Slot(date, index);
+                if (slot.start().isBefore(now.start())) {
+                    continue;
+                }
+                int free = Math.max(capacity - booked.getOrDefault(slot, 0), 0);
+                LocalDateTime end = slot.start().plusMinutes(SLOT_MINUTES);
+
+                if (open != null && open.getFreeSlots() == free) {
+                    open.setEnd(end);
+                } else if (free > 0) {
+                    open = new SlotAvailabilityDto(slot.start(), end, free);
+                    intervals.add(open);
+                } else {
+                    open = null;
+                }
+            }
+        }
+        return intervals;
+    }
+
+    /**
+     * Refreshes the cached availableSlots of every station whose occupancy differs
+     * between the interval that just ended and the one that just started.
+     */
+    @Scheduled(cron = "1 0/" + SLOT_MINUTES + " * * * *")
+    @Transactional
+    public void rollOver() {
+        Slot current = Slot.containing(LocalDateTime.now());
+        Slot previous = current.previous();
+
+        Set<Long> stationIds = new HashSet<>();
+        for (StationSlot row : stationSlotRepository.findCurrentAndPrevious(
+                current.date(), current.index(), previous.date(), previous.index())) {
+            stationIds.add(row.getStationId());
+        }
+        for (Long stationId : stationIds) {
+            syncAvailableSlots(stationId, current);
+        }
+        if (!stationIds.isEmpty()) {
+            logger.info("Refreshed available slots for {} stations at {}", stationIds.size(), current.start());
+        }
+    }
+
+    private void syncIfCurrent(Long stationId, List<Slot> slots) {
+        Slot current = Slot.containing(LocalDateTime.now());
+        if (slots.contains(current)) {
+            syncAvailableSlots(stationId, current);
+        }
+    }
+
+    private void syncAvailableSlots(Long stationId, Slot current) {
+        Integer booked = stationSlotRepository.findBooked(stationId, current.date(), current.index());
+        stationRepository.updateAvailableSlots(stationId, booked != null ? booked : 0);
+
+        // The counter was changed by a bulk UPDATE; reload to publish the committed value
+        stationRepository.findById(stationId).ifPresent(station -> {
+            stationSnapshot.apply(station);
+            eventPublisher.publishEvent(StationAvailabilityEvent.of(station));
+        });
+    }
+
+    private int capacityOf(Long stationId) {
+        if (!stationRepository.existsById(stationId)) {
+            throw new RuntimeException("Station not found");
+        }
+        Integer totalSlots = stationRepository.findTotalSlots(stationId);
+        return totalSlots != null ? totalSlots : 1;
+    }
+
+    /**
+     * Inserts the missing interval rows in the caller's transaction, so the
+     * conditional UPDATEs that follow always have a row to act on. INSERT IGNORE
+     * makes a row created concurrently by another booking a no-op instead of an
+     * error, without a second connection per booking.
+     */
+    private void ensureRows(Long stationId, List<Slot> slots) {
+        LocalDate fromDate = slots.get(0).date();
+        LocalDate toDate = slots.get(slots.size() - 1).date();
+
+        Set<Slot> existing = new HashSet<>();
+        for (StationSlot row : stationSlotRepository.findByStationIdAndDateRange(stationId, fromDate, toDate)) {
+            existing.add(new Slot(row.getSlotDate(), row.getSlotIndex()));
+        }
+        for (Slot slot : slots) {
+            if (!existing.contains(slot)) {
+                stationSlotRepository.insertIfMissing(stationId, slot.date(), slot.index());
+            }
+        }
+    }
+
+    private static List<Slot> bookableSlots(LocalDateTime start, LocalDateTime end) {
+        List<Slot> slots = slotsBetween(start, end);
+        if (slots.size() > MAX_BOOKING_SLOTS) {
+            throw new RuntimeException("Booking cannot span more than 24 hours");
+        }
+        return slots;
+    }
+
+    private static List<Slot> slotsBetween(LocalDateTime start, LocalDateTime end) {
+        if (start == null || end == null || !end.isAfter(start)) {
+            throw new RuntimeException("End time must be after start time");
+        }
+        List<Slot> slots = new ArrayList<>();
+        for (LocalDateTime time = Slot.containing(start).start(); time.isBefore(end); time = time.plusMinutes(SLOT_MINUTES)) {
+            slots.add(Slot.containing(time));
+        }
+        return slots;
+    }
+}
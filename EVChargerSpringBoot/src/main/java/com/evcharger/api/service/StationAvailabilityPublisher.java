@@ -0,0 +1,227 @@
+package com.evcharger.api.service;
+
+import com.evcharger.api.event.StationAvailabilityEvent;
+import com.evcharger.api.exception.SubscriptionLimitException;
+import com.evcharger.api.util.GeoHash;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server-sent-events fan-out of station availability changes. Clients subscribe
+ * to a single station or to an area (center + radius); area subscriptions are
+ * indexed by the geohash cells covering them, so routing an event is a handful
+ * of map lookups regardless of how many clients are connected.
+ *
+ * Every emitter holds a connection for up to 30 minutes, so open subscriptions
+ * are capped in total and per client address.
+ *
+ * Events and heartbeats are written by a single fan-out thread with a bounded
+ * queue, never on the request that changed availability, so a slow client cannot
+ * add latency to bookings. The single thread keeps events in order; a client
+ * whose write blocks for longer than {@link #SLOW_SEND_MS} is disconnected.
+ */
+@Service
+public class StationAvailabilityPublisher {
+    private static final Logger logger = LoggerFactory.getLogger(StationAvailabilityPublisher.class);
+
+    private static final long EMITTER_TIMEOUT_MS = 30 * 60 * 1000L;
+    private static final long SLOW_SEND_MS = 1000;
+    private static final int FAN_OUT_QUEUE_SIZE = 10000;
+
+    private final Map<Long, Set<SseEmitter>> stationSubscribers = new ConcurrentHashMap<>();
+    private final Map<String, Set<AreaSubscription>> areaSubscribers = new ConcurrentHashMap<>();
+    private final Set<SseEmitter> allEmitters = ConcurrentHashMap.newKeySet();
+    private final Map<String, Integer> clientSubscriptions = new ConcurrentHashMap<>();
+    private final AtomicInteger openSubscriptions = new AtomicInteger();
+
+    // Rejected work is dropped: a later event or heartbeat supersedes it
+    private final ThreadPoolExecutor fanOut = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(FAN_OUT_QUEUE_SIZE), runnable -> {
+                Thread thread = new Thread(runnable, "availability-fan-out");
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.DiscardPolicy());
+
+    @Value("${stations.stream.max-subscribers:5000}")
+    private int maxSubscribers;
+
+    @Value("${stations.stream.max-per-client:10}")
+    private int maxPerClient;
+
+    private static final class AreaSubscription {
+        final SseEmitter emitter;
+        final double latitude;
+        final double longitude;
+        final double rangeKm;
+
+        AreaSubscription(SseEmitter emitter, double latitude, double longitude, double rangeKm) {
+            this.emitter = emitter;
+            this.latitude = latitude;
+            this.longitude = longitude;
+            this.rangeKm = rangeKm;
+        }
+    }
+
+    public SseEmitter subscribeToStation(String clientId, Long stationId) {
+        SseEmitter emitter = newEmitter(clientId);
+        stationSubscribers.computeIfAbsent(stationId, id -> new CopyOnWriteArraySet<>()).add(emitter);
+        onClose(emitter, clientId, () -> {
+            Set<SseEmitter> subscribers = stationSubscribers.get(stationId);
+            if (subscribers != null) subscribers.remove(emitter);
+        });
+        return emitter;
+    }
+
+    public SseEmitter subscribeToArea(String clientId, double latitude, double longitude, double rangeKm) {
+        Set<String> cells = GeoHash.coverCircle(latitude, longitude, rangeKm);
+        if (cells.isEmpty()) {
+            throw new RuntimeException("Range too large for an area subscription");
+        }
+
+        SseEmitter emitter = newEmitter(clientId);
+        AreaSubscription subscription = new AreaSubscription(emitter, latitude, longitude, rangeKm);
+        for (String cell : cells) {
+            areaSubscribers.computeIfAbsent(cell, c -> new CopyOnWriteArraySet<>()).add(subscription);
+        }
+        onClose(emitter, clientId, () -> {
+            for (String cell : cells) {
+                Set<AreaSubscription> subscribers = areaSubscribers.get(cell);
+                if (subscribers != null) subscribers.remove(subscription);
+            }
+        });
+        return emitter;
+    }
+
+    /** Queued for the fan-out thread only once the publishing transaction commits. */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAvailabilityChanged(StationAvailabilityEvent event) {
+        fanOut.execute(() -> deliver(event));
+    }
+
+    private void deliver(StationAvailabilityEvent event) {
+        Set<SseEmitter> subscribers = stationSubscribers.get(event.getStationId());
+        if (subscribers != null) {
+            for (SseEmitter emitter : subscribers) {
+                send(emitter, event);
+            }
+        }
+
+        String geohash = event.getGeohash();
+        if (geohash == null || event.getLatitude() == null || event.getLongitude() == null) {
+            return;
+        }
+        for (int length = 1; length <= geohash.length(); length++) {
+            Set<AreaSubscription> area = areaSubscribers.get(geohash.substring(0, length));
+            if (area == null) continue;
+            for (AreaSubscription subscription : area) {
+                double distance = GeoHash.distanceKm(subscription.latitude, subscription.longitude,
+                        event.getLatitude(), event.getLongitude());
+                if (distance <= subscription.rangeKm) {
+                    send(subscription.emitter, event);
+                }
+            }
+        }
+    }
+
+    // Comment line keeps idle connections open through proxies
+    @Scheduled(fixedRate = 25000)
+    public void heartbeat() {
+        fanOut.execute(() -> {
+            for (SseEmitter emitter : allEmitters) {
+                send(emitter, SseEmitter.event().comment("ping"));
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        fanOut.shutdownNow();
+    }
+
+    private SseEmitter newEmitter(String clientId) {
+        acquire(clientId);
+        SseEmitter emitter = new SseEmitter(EMITTER_TIMEOUT_MS);
+        allEmitters.add(emitter);
+        return emitter;
+    }
+
+    /** Takes one subscription from the global and the client's allowance, or throws if either is used up. */
+    private void acquire(String clientId) {
+        if (openSubscriptions.incrementAndGet() > maxSubscribers) {
+            openSubscriptions.decrementAndGet();
+            throw new SubscriptionLimitException(HttpStatus.SERVICE_UNAVAILABLE, "Too many open availability streams");
+        }
+        AtomicBoolean allowed = new AtomicBoolean();
+        clientSubscriptions.compute(clientId, (client, count) -> {
+            int current = count != null ? count : 0;
+            if (current >= maxPerClient) {
+                return count;
+            }
+            allowed.set(true);
+            return current + 1;
+        });
+        if (!allowed.get()) {
+            openSubscriptions.decrementAndGet();
+            throw new SubscriptionLimitException(HttpStatus.TOO_MANY_REQUESTS, "Too many open availability streams for this client");
+        }
+    }
+
+    private void release(String clientId) {
+        openSubscriptions.decrementAndGet();
+        clientSubscriptions.computeIfPresent(clientId, (client, count) -> count > 1 ? count - 1 : null);
+    }
+
+    private void onClose(SseEmitter emitter, String clientId, Runnable cleanup) {
+        // Timeout and error are followed by completion; release the allowance only once
+        AtomicBoolean closed = new AtomicBoolean();
+        Runnable remove = () -> {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            allEmitters.remove(emitter);
+            release(clientId);
+            cleanup.run();
+        };
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+    }
+
+    private void send(SseEmitter emitter, StationAvailabilityEvent event) {
+        send(emitter, SseEmitter.event().name("availability").data(event));
+    }
+
+    private void send(SseEmitter emitter, SseEmitter.SseEventBuilder message) {
+        long started = System.currentTimeMillis();
+        try {
+            emitter.send(message);
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Dropping availability subscriber: {}", e.getMessage());
+            emitter.completeWithError(e);
+            return;
+        }
+        if (System.currentTimeMillis() - started > SLOW_SEND_MS) {
+            logger.debug("Dropping slow availability subscriber");
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package com.evcharger.api.service;
+
+import com.evcharger.api.dto.DailyRollupDto;
+import com.evcharger.api.entity.RollupWatermark;
+import com.evcharger.api.entity.StationDailyRollup;
+import com.evcharger.api.repository.BookingRepository;
+import com.evcharger.api.repository.RollupWatermarkRepository;
+import com.evcharger.api.repository.StationDailyRollupRepository;
+import com.evcharger.api.repository.StationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Daily booking totals per station, kept in {@code StationDailyRollups} so that
+ * reporting reads a year of history as at most 366 small rows.
+ *
+ * A scheduled job picks up the bookings whose {@code updatedAt} moved past the
+ * job's watermark and recomputes, from the Bookings table, every day of those
+ * stations that the changed bookings start on. Recomputing a day is idempotent,
+ * so the job re-reads a short overlap before the watermark to catch transactions
+ * that committed after it ran.
+ */
+@Service
+public class StationRollupService {
+    private static final Logger logger = LoggerFactory.getLogger(StationRollupService.class);
+
+    private static final String WATERMARK = "station-daily";
+    private static final long OVERLAP_SECONDS = 60;
+    private static final int MAX_RANGE_DAYS = 366;
+    private static final long MINUTES_PER_DAY = 24 * 60;
+
+    private static final Set<String> SESSION_STATUSES = Set.of("Confirmed", "Completed");
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private StationDailyRollupRepository stationDailyRollupRepository;
+
+    @Autowired
+    private RollupWatermarkRepository rollupWatermarkRepository;
+
+    @Autowired
+    private StationRepository stationRepository;
+
+    @Scheduled(fixedDelay = 60000, initialDelay = 30000)
+    @Transactional
+    public void refresh() {
+        LocalDateTime until = LocalDateTime.now();
+        RollupWatermark watermark = rollupWatermarkRepository.lockByName(WATERMARK)
+                .orElseGet(() -> rollupWatermarkRepository.save(new RollupWatermark(WATERMARK)));
+
+        int days = 0;
+        int stations;
+        if (watermark.getWatermark() == null) {
+            // The first run has no watermark and rolls up all history
+            List<Object[]> ranges = bookingRepository.findAllStartRanges();
+            for (Object[] range : ranges) {
+                days += rebuild((Long) range[0], ((LocalDateTime) range[1]).toLocalDate(),
+                        ((LocalDateTime) range[2]).toLocalDate());
+            }
+            stations = ranges.size();
+        } else {
+            // Only the days the changed bookings start on; consecutive days are rebuilt together
+            Map<Long, TreeSet<LocalDate>> changed = new HashMap<>();
+            for (Object[] row : bookingRepository.findChangedStartDays(
+                    watermark.getWatermark().minusSeconds(OVERLAP_SECONDS), until)) {
+                changed.computeIfAbsent((Long) row[0], stationId -> new TreeSet<>()).add((LocalDate) row[1]);
+            }
+            for (Map.Entry<Long, TreeSet<LocalDate>> entry : changed.entrySet()) {
+                LocalDate runStart = null;
+                LocalDate runEnd = null;
+                for (LocalDate day : entry.getValue()) {
+                    if (runEnd != null && !day.equals(runEnd.plusDays(1))) {
+                        days += rebuild(entry.getKey(), runStart, runEnd);
+                        runStart = null;
+                    }
+                    if (runStart == null) {
+                        runStart = day;
+                    }
+                    runEnd = day;
+                }
+                days += rebuild(entry.getKey(), runStart, runEnd);
+            }
+            stations = changed.size();
+        }
+        watermark.setWatermark(until);
+        rollupWatermarkRepository.save(watermark);
+        if (days > 0) {
+            logger.info("Rolled up {} station-days for {} stations", days, stations);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<DailyRollupDto> getStationRollups(Long stationId, LocalDate fromDate, LocalDate toDate) {
+        checkRange(fromDate, toDate);
+        if (!stationRepository.existsById(stationId)) {
+            throw new RuntimeException("Station not found");
+        }
+        Integer totalSlots = stationRepository.findTotalSlots(stationId);
+        double capacityMinutes = (totalSlots != null && totalSlots > 0 ? totalSlots : 1) * MINUTES_PER_DAY;
+
+        return stationDailyRollupRepository.findByStationIdAndDayRange(stationId, fromDate, toDate).stream()
+                .map(rollup -> {
+                    DailyRollupDto dto = new DailyRollupDto(rollup.getDay(), rollup.getSessions(),
+                            rollup.getCancellations(), rollup.getBookedMinutes(), rollup.getRevenue());
+                    dto.setUtilization(Math.round(rollup.getBookedMinutes() / capacityMinutes * 10000) / 10000.0);
+                    return dto;
+                })
+                .collect(Collectors.toList());
+    }
+
+    @Transactional(readOnly = true)
+    public List<DailyRollupDto> getStationRollupsForMaster(Long stationId, Long stationMasterId,
+                                                           LocalDate fromDate, LocalDate toDate) {
+        if (stationRepository.findIdsOwnedBy(List.of(stationId), stationMasterId).isEmpty()) {
+            throw new RuntimeException("Unauthorized: Station does not belong to this station master");
+        }
+        return getStationRollups(stationId, fromDate, toDate);
+    }
+
+    /** Totals over all stations per day. */
+    @Transactional(readOnly = true)
+    public List<DailyRollupDto> getAllStationsRollups(LocalDate fromDate, LocalDate toDate) {
+        checkRange(fromDate, toDate);
+        return stationDailyRollupRepository.sumByDay(fromDate, toDate).stream()
+                .map(row -> new DailyRollupDto((LocalDate) row[0], ((Number) row[1]).longValue(),
+                        ((Number) row[2]).longValue(), ((Number) row[3]).longValue(), (BigDecimal) row[4]))
+                .collect(Collectors.toList());
+    }
+
+    /** Recomputes every rollup day of the station between the two days, inclusive. */
+    private int rebuild(Long stationId, LocalDate fromDay, LocalDate toDay) {
+        Map<LocalDate, StationDailyRollup> rollups = new HashMap<>();
+        for (StationDailyRollup rollup : stationDailyRollupRepository.findByStationIdAndDayRange(stationId, fromDay, toDay)) {
+            rollup.setSessions(0);
+            rollup.setCancellations(0);
+            rollup.setBookedMinutes(0L);
+            rollup.setRevenue(BigDecimal.ZERO);
+            rollups.put(rollup.getDay(), rollup);
+        }
+
+        for (Object[] row : bookingRepository.findRollupRows(stationId, fromDay.atStartOfDay(),
+                toDay.plusDays(1).atStartOfDay())) {
+            LocalDateTime start = (LocalDateTime) row[0];
+            LocalDateTime end = (LocalDateTime) row[1];
+            String status = (String) row[2];
+            BigDecimal amount = (BigDecimal) row[3];
+
+            boolean session = SESSION_STATUSES.contains(status);
+            if (!session && !"Cancelled".equals(status)) {
+                continue;
+            }
+            StationDailyRollup rollup = rollups.computeIfAbsent(start.toLocalDate(),
+                    day -> new StationDailyRollup(stationId, day));
+            if (session) {
+                rollup.setSessions(rollup.getSessions() + 1);
+                if (end != null && end.isAfter(start)) {
+                    rollup.setBookedMinutes(rollup.getBookedMinutes() + Duration.between(start, end).toMinutes());
+                }
+                if (amount != null) {
+                    rollup.setRevenue(rollup.getRevenue().add(amount));
+                }
+            } else {
+                rollup.setCancellations(rollup.getCancellations() + 1);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (StationDailyRollup rollup : rollups.values()) {
+            rollup.setRefreshedAt(now);
+        }
+        stationDailyRollupRepository.saveAll(rollups.values());
+        return rollups.size();
+    }
+
+    private static void checkRange(LocalDate fromDate, LocalDate toDate) {
+        if (toDate.isBefore(fromDate)) {
+            throw new RuntimeException("'to' must not be before 'from'");
+        }
+        if (ChronoUnit.DAYS.between(fromDate, toDate) >= MAX_RANGE_DAYS) {
+            throw new RuntimeException("Date range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+    }
+}
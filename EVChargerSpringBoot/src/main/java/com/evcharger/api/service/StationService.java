@@ -1,22 +1,43 @@
 package com.evcharger.api.service;
 
+import com.evcharger.api.dto.CursorPage;
+import com.evcharger.api.dto.RouteSearchDto;
 import com.evcharger.api.dto.StationDto;
+import com.evcharger.api.dto.StationFilter;
+import com.evcharger.api.dto.StationRow;
 import com.evcharger.api.entity.Station;
+import com.evcharger.api.event.StationAvailabilityEvent;
 import com.evcharger.api.repository.StationRepository;
+import com.evcharger.api.util.GeoHash;
+import com.evcharger.api.util.Polyline;
+import com.evcharger.api.util.RouteCorridor;
+import com.evcharger.api.util.StationAttributes;
+import com.evcharger.api.util.TopK;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class StationService {
     private static final Logger logger = LoggerFactory.getLogger(StationService.class);
+    private static final int MAX_NEARBY_LIMIT = 500;
+    private static final int CELLS_PER_QUERY = 64;
+    private static final int CLUSTER_MAX_ZOOM = 14;
 
     @Autowired
     private StationRepository stationRepository;
@@ -27,11 +48,23 @@ public class StationService {
     @Autowired
     private com.evcharger.api.repository.UserRepository userRepository;
 
+    @Autowired
+    private StationSnapshot stationSnapshot;
+
+    @Autowired
+    private TariffService tariffService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public List<StationDto> getAllStations() {
         try {
-            List<Station> stations = stationRepository.findAll(); // Use findAll instead of findAllWithStationMaster
+            List<StationRow> stations = stationRepository.findAllRows();
             return stations.stream()
-                    .map(this::convertToDto)
+                    .map(this::toDto)
                     .collect(Collectors.toList());
         } catch (Exception e) {
             logger.error("Error fetching all stations: {}", e.getMessage());
@@ -39,93 +72,254 @@ public class StationService {
         }
     }
 
-    public List<StationDto> getApprovedStations() {
-        List<Station> stations = stationRepository.findAllWithStationMaster();
-        return stations.stream()
-                .filter(station -> "Approved".equals(station.getApprovalStatus()))
-                .map(this::convertToDto)
+    @Transactional(readOnly = true)
+    public List<StationDto> getAllStations(StationFilter filter) {
+        if (filter.isEmpty()) {
+            return getAllStations();
+        }
+        // Power and price narrow the query in the database; connector/amenity
+        // masks are checked before any JSON is parsed or DTO is built
+        return stationRepository.findRowsByPowerAndPrice(filter.getMinPowerKw(), filter.getMaxPrice()).stream()
+                .filter(filter::matches)
+                .map(this::toDto)
                 .collect(Collectors.toList());
     }
 
+    /** As {@link #getAllStations(StationFilter)}, best rated first when {@code sort} is "rating". */
+    @Transactional(readOnly = true)
+    public List<StationDto> getAllStations(StationFilter filter, String sort) {
+        if (sort == null) {
+            return getAllStations(filter);
+        }
+        if (!"rating".equals(sort)) {
+            throw new RuntimeException("Unsupported sort: " + sort);
+        }
+        List<StationDto> stations = new ArrayList<>(getAllStations(filter));
+        stations.sort(Comparator.comparing(StationDto::getRatingAverage, Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(StationDto::getRatingCount, Comparator.reverseOrder())
+                .thenComparing(StationDto::getId));
+        return stations;
+    }
+
+    @Transactional(readOnly = true)
+    public List<StationDto> getApprovedStations() {
+        return getStationsByApprovalStatus("Approved");
+    }
+
+    @Transactional(readOnly = true)
     public Optional<StationDto> getStationById(Long id) {
-        return stationRepository.findById(id)
-                .map(this::convertToDto);
+        return stationRepository.findRowById(id)
+                .map(this::toDto);
     }
 
+    @Transactional
     public StationDto createStation(StationDto stationDto) {
         Station station = convertToEntity(stationDto);
         Station savedStation = stationRepository.save(station);
+        outboxService.recordStation("StationCreated", savedStation);
+        stationSnapshot.apply(savedStation);
+        tariffService.apply(savedStation);
         return convertToDto(savedStation);
     }
 
+    @Transactional
     public Optional<StationDto> updateStation(Long id, StationDto stationDto) {
         return stationRepository.findById(id)
                 .map(existingStation -> {
                     updateStationFromDto(existingStation, stationDto);
                     Station savedStation = stationRepository.save(existingStation);
+                    outboxService.recordStation("StationUpdated", savedStation);
+                    stationSnapshot.apply(savedStation);
+                    tariffService.apply(savedStation);
                     return convertToDto(savedStation);
                 });
     }
 
+    @Transactional
     public boolean deleteStation(Long id) {
         if (stationRepository.existsById(id)) {
             stationRepository.deleteById(id);
+            outboxService.record("Station", id, id, "StationDeleted", Map.of("stationId", id));
+            stationSnapshot.remove(id);
+            tariffService.remove(id);
             return true;
         }
         return false;
     }
 
-    public List<StationDto> getNearbyStations(double lat, double lng, double range) {
-        List<Station> availableStations = stationRepository.findByStatus("Available");
-        
-        return availableStations.stream()
-                .filter(station -> "Approved".equals(station.getApprovalStatus())) // Only approved stations
-                .filter(station -> {
-                    double distance = calculateDistance(lat, lng, station.getLatitude(), station.getLongitude());
-                    return distance <= range;
-                })
-                .sorted((s1, s2) -> {
-                    double dist1 = calculateDistance(lat, lng, s1.getLatitude(), s1.getLongitude());
-                    double dist2 = calculateDistance(lat, lng, s2.getLatitude(), s2.getLongitude());
-                    int distanceComparison = Double.compare(dist1, dist2);
-                    if (distanceComparison != 0) return distanceComparison;
-                    return Integer.compare(s2.getAvailableSlots(), s1.getAvailableSlots());
+    @Transactional(readOnly = true)
+    public CursorPage<StationDto> getNearbyStations(double lat, double lng, double range, StationFilter filter,
+                                                    int limit, String cursor) {
+        if (stationSnapshot.isEnabled()) {
+            return getNearbyStationsFromSnapshot(lat, lng, range, filter, limit, cursor);
+        }
+
+        // Only fetch the geohash cells that cover the search circle; very large
+        // radii fall back to scanning every available station
+        Set<String> cells = GeoHash.coverCircle(lat, lng, range);
+        List<Station> availableStations = cells.isEmpty()
+                ? stationRepository.findByStatus("Available")
+                : stationRepository.findAvailableInCells(cells);
+
+        // Each distance is computed once; only the k nearest are kept and converted
+        TopK<Station> nearest = new TopK<>(clampLimit(limit), cursor);
+        for (Station station : availableStations) {
+            if (!"Approved".equals(station.getApprovalStatus())) continue; // Only approved stations
+            if (!filter.matches(station)) continue;
+            double distance = calculateDistance(lat, lng, station.getLatitude(), station.getLongitude());
+            if (distance <= range) {
+                nearest.offer(station, station.getId(), distance);
+            }
+        }
+
+        List<StationDto> stations = nearest.sorted().stream()
+                .map(entry -> {
+                    StationDto dto = convertToDto(entry.getItem());
+                    dto.setDistance(entry.getDistance());
+                    return dto;
                 })
-                .map(station -> {
-                    StationDto dto = convertToDto(station);
-                    dto.setDistance(calculateDistance(lat, lng, station.getLatitude(), station.getLongitude()));
+                .collect(Collectors.toList());
+        return new CursorPage<>(stations, nearest.nextCursor());
+    }
+
+    private CursorPage<StationDto> getNearbyStationsFromSnapshot(double lat, double lng, double range, StationFilter filter,
+                                                                 int limit, String cursor) {
+        TopK<Long> nearest = new TopK<>(clampLimit(limit), cursor);
+        stationSnapshot.collectWithin(lat, lng, range, filter, nearest);
+        List<TopK.Entry<Long>> hits = nearest.sorted();
+
+        // Hydrate only the hits, then restore distance order
+        List<Long> ids = hits.stream().map(TopK.Entry::getItem).collect(Collectors.toList());
+        Map<Long, Station> stationsById = stationRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Station::getId, Function.identity()));
+
+        List<StationDto> result = new ArrayList<>(hits.size());
+        for (TopK.Entry<Long> hit : hits) {
+            Station station = stationsById.get(hit.getItem());
+            if (station != null) {
+                StationDto dto = convertToDto(station);
+                dto.setDistance(hit.getDistance());
+                result.add(dto);
+            }
+        }
+        return new CursorPage<>(result, nearest.nextCursor());
+    }
+
+    /**
+     * Stations within the corridor around an encoded route polyline, ordered by
+     * distance along the route. The corridor is covered by geohash cells and
+     * fetched in a few batched queries instead of one nearby search per vertex.
+     */
+    @Transactional(readOnly = true)
+    public List<StationDto> getStationsAlongRoute(RouteSearchDto request) {
+        RouteCorridor corridor = new RouteCorridor(Polyline.decode(request.getPolyline()), request.getCorridorKm());
+        StationFilter filter = new StationFilter(request.getConnectorTypes(), request.getMinPower(),
+                request.getMaxPrice(), request.getAmenities());
+
+        List<String> cells = new ArrayList<>(corridor.cells());
+        List<Station> candidates = new ArrayList<>();
+        for (int i = 0; i < cells.size(); i += CELLS_PER_QUERY) {
+            candidates.addAll(stationRepository.findAvailableInCells(
+                    cells.subList(i, Math.min(i + CELLS_PER_QUERY, cells.size()))));
+        }
+
+        // Rank by distance along the route; the offset from the route is reported as distance
+        TopK<Station> alongRoute = new TopK<>(clampLimit(request.getLimit()), null);
+        Map<Long, Double> offsets = new HashMap<>();
+        for (Station station : candidates) {
+            if (!filter.matches(station)) continue;
+            double[] location = corridor.locate(station.getLatitude(), station.getLongitude(), station.getGeohash());
+            if (location != null) {
+                offsets.put(station.getId(), location[0]);
+                alongRoute.offer(station, station.getId(), location[1]);
+            }
+        }
+
+        return alongRoute.sorted().stream()
+                .map(entry -> {
+                    StationDto dto = convertToDto(entry.getItem());
+                    dto.setDistance(offsets.get(entry.getId()));
+                    dto.setDistanceAlongRoute(entry.getDistance());
                     return dto;
                 })
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Map viewport query. Below {@link #CLUSTER_MAX_ZOOM} approved stations are
+     * aggregated per geohash cell in the database (count, centroid, total free
+     * slots), so the payload size follows the viewport, not the catalog.
+     * At fine zoom the individual stations are returned.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getViewport(double minLat, double minLng, double maxLat, double maxLng, int zoom) {
+        Set<String> cells = GeoHash.coverBox(minLat, minLng, maxLat, maxLng);
+        Map<String, Object> result = new HashMap<>();
+
+        if (zoom >= CLUSTER_MAX_ZOOM) {
+            List<StationDto> stations = stationRepository
+                    .findApprovedInBox(cells, minLat, minLng, maxLat, maxLng, MAX_NEARBY_LIMIT).stream()
+                    .map(this::convertToDto)
+                    .collect(Collectors.toList());
+            result.put("mode", "stations");
+            result.put("stations", stations);
+            return result;
+        }
+
+        // Roughly one cluster cell per ~60px tile fraction: two zoom levels per geohash character
+        int precision = Math.max(1, Math.min((zoom + 1) / 2, 7));
+        result.put("mode", "clusters");
+        result.put("precision", precision);
+        result.put("clusters", stationRepository.clusterApprovedInBox(cells, precision, minLat, minLng, maxLat, maxLng));
+        return result;
+    }
+
+    private int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_NEARBY_LIMIT));
+    }
+
     private double calculateDistance(double lat1, double lng1, double lat2, double lng2) {
-        final double R = 6371; // Earth's radius in kilometers
-        double dLat = Math.toRadians(lat2 - lat1);
-        double dLng = Math.toRadians(lng2 - lng1);
-        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) +
-                Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) *
-                Math.sin(dLng / 2) * Math.sin(dLng / 2);
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-        return R * c;
+        return GeoHash.distanceKm(lat1, lng1, lat2, lng2);
+    }
+
+    @Transactional
+    public int backfillRatings() {
+        return stationRepository.backfillRatings();
+    }
+
+    @Transactional
+    public int backfillSearchIndex() {
+        List<Station> stations = stationRepository.findByGeohashIsNullOrConnectorMaskIsNull();
+        for (Station station : stations) {
+            station.updateGeohash();
+            updateSearchAttributes(station, parseJsonArray(station.getConnectorTypes()), parseJsonArray(station.getAmenities()));
+        }
+        stationRepository.saveAll(stations);
+        return stations.size();
     }
 
     // Station Master specific methods
+    @Transactional(readOnly = true)
     public List<StationDto> getStationsByMaster(Long stationMasterId) {
-        List<Station> stations = stationRepository.findByStationMasterId(stationMasterId);
+        List<StationRow> stations = stationRepository.findRowsByStationMasterId(stationMasterId);
         return stations.stream()
-                .map(this::convertToDto)
+                .map(this::toDto)
                 .collect(Collectors.toList());
     }
 
+    @Transactional
     public StationDto createStationForMaster(StationDto stationDto, Long stationMasterId) {
         Station station = convertToEntity(stationDto);
         station.setStationMaster(userRepository.findById(stationMasterId).orElse(null));
         station.setApprovalStatus("Pending"); // Set default approval status
         Station savedStation = stationRepository.save(station);
+        outboxService.recordStation("StationCreated", savedStation);
+        stationSnapshot.apply(savedStation);
+        tariffService.apply(savedStation);
         return convertToDto(savedStation);
     }
 
+    @Transactional
     public StationDto updateStationForMaster(Long stationId, StationDto stationDto, Long stationMasterId) {
         Station station = stationRepository.findById(stationId)
                 .orElseThrow(() -> new RuntimeException("Station not found"));
@@ -137,9 +331,13 @@ public class StationService {
         updateStationFromDto(station, stationDto);
         station.setApprovalStatus("Pending"); // Reset to pending after edit
         Station savedStation = stationRepository.save(station);
+        outboxService.recordStation("StationUpdated", savedStation);
+        stationSnapshot.apply(savedStation);
+        tariffService.apply(savedStation);
         return convertToDto(savedStation);
     }
 
+    @Transactional
     public void updateStationStatus(Long stationId, String status, Long stationMasterId) {
         Station station = stationRepository.findById(stationId)
                 .orElseThrow(() -> new RuntimeException("Station not found"));
@@ -149,33 +347,47 @@ public class StationService {
         }
         
         station.setStatus(status);
-        stationRepository.save(station);
+        Station savedStation = stationRepository.save(station);
+        outboxService.recordStation("StationStatusChanged", savedStation);
+        stationSnapshot.apply(savedStation);
+        eventPublisher.publishEvent(StationAvailabilityEvent.of(savedStation));
     }
 
+    @Transactional
     public void updateApprovalStatus(Long stationId, String approvalStatus) {
         Station station = stationRepository.findById(stationId)
                 .orElseThrow(() -> new RuntimeException("Station not found"));
         
         station.setApprovalStatus(approvalStatus);
-        stationRepository.save(station);
+        Station savedStation = stationRepository.save(station);
+        outboxService.recordStation("StationApprovalChanged", savedStation);
+        stationSnapshot.apply(savedStation);
     }
 
+    @Transactional(readOnly = true)
     public List<StationDto> getStationsByApprovalStatus(String approvalStatus) {
-        List<Station> stations = stationRepository.findByApprovalStatus(approvalStatus);
+        List<StationRow> stations = stationRepository.findRowsByApprovalStatus(approvalStatus);
         return stations.stream()
-                .map(this::convertToDto)
+                .map(this::toDto)
                 .collect(Collectors.toList());
     }
 
+    @Transactional
     public void updateStationApprovalStatus(Long stationId, String approvalStatus) {
         Station station = stationRepository.findById(stationId)
                 .orElseThrow(() -> new RuntimeException("Station not found"));
         
         station.setApprovalStatus(approvalStatus);
-        stationRepository.save(station);
+        Station savedStation = stationRepository.save(station);
+        outboxService.recordStation("StationApprovalChanged", savedStation);
+        stationSnapshot.apply(savedStation);
     }
 
     private StationDto convertToDto(Station station) {
+        return toDto(StationRow.of(station));
+    }
+
+    private StationDto toDto(StationRow station) {
         StationDto dto = new StationDto();
         dto.setId(station.getId());
         dto.setName(station.getName());
@@ -191,7 +403,12 @@ public class StationService {
         dto.setTotalSlots(station.getTotalSlots());
         dto.setAvailableSlots(station.getAvailableSlots());
         dto.setApprovalStatus(station.getApprovalStatus());
-        dto.setOwnerName(station.getStationMaster() != null ? station.getStationMaster().getName() : null);
+        dto.setOwnerName(station.getOwnerName());
+        long ratingCount = station.getRatingCount() != null ? station.getRatingCount() : 0;
+        dto.setRatingCount(ratingCount);
+        if (ratingCount > 0) {
+            dto.setRatingAverage(Math.round(station.getRatingSum() * 100.0 / ratingCount) / 100.0);
+        }
         return dto;
     }
 
@@ -214,6 +431,13 @@ public class StationService {
         station.setStatus(dto.getStatus());
         station.setTotalSlots(dto.getTotalSlots());
         station.setAvailableSlots(dto.getAvailableSlots());
+        updateSearchAttributes(station, dto.getConnectorTypes(), dto.getAmenities());
+    }
+
+    private void updateSearchAttributes(Station station, String[] connectorTypes, String[] amenities) {
+        station.setConnectorMask(StationAttributes.connectorMask(connectorTypes));
+        station.setAmenityMask(StationAttributes.amenityMask(amenities));
+        station.setPowerKw(StationAttributes.parsePowerKw(station.getPowerOutput()));
     }
 
     private String[] parseJsonArray(String jsonString) {
@@ -0,0 +1,270 @@
+package com.evcharger.api.service;
+
+import com.evcharger.api.dto.StationFilter;
+import com.evcharger.api.entity.Station;
+import com.evcharger.api.repository.StationRepository;
+import com.evcharger.api.util.GeoHash;
+import com.evcharger.api.util.TopK;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Optional in-process copy of the approved, available stations kept as
+ * primitive columns. Nearby queries scan these arrays directly; only the
+ * final hits are loaded from the database and converted to DTOs.
+ *
+ * Readers never lock. Availability changes with every booking, so it is patched
+ * in place; every other column is immutable once published, and writers swap in
+ * a new copy only when a station is added, removed or edited. Enable with
+ * {@code stations.snapshot.enabled=true}.
+ */
+@Component
+public class StationSnapshot {
+    private static final Logger logger = LoggerFactory.getLogger(StationSnapshot.class);
+
+    @Value("${stations.snapshot.enabled:false}")
+    private boolean enabled;
+
+    @Autowired
+    private StationRepository stationRepository;
+
+    private volatile Columns columns = Columns.EMPTY;
+
+    static final class Columns {
+        static final Columns EMPTY = new Columns(0);
+
+        final long[] ids;
+        final double[] latitudes;
+        final double[] longitudes;
+        final AtomicIntegerArray availableSlots;
+        final long[] connectorMasks;
+        final long[] amenityMasks;
+        final double[] powerKw;
+        final double[] pricePerKwh;
+        final Map<Long, Integer> positions;
+
+        Columns(int size) {
+            this.ids = new long[size];
+            this.latitudes = new double[size];
+            this.longitudes = new double[size];
+            this.availableSlots = new AtomicIntegerArray(size);
+            this.connectorMasks = new long[size];
+            this.amenityMasks = new long[size];
+            this.powerKw = new double[size];
+            this.pricePerKwh = new double[size];
+            this.positions = new HashMap<>(size * 4 / 3 + 1);
+        }
+
+        int size() { return ids.length; }
+
+        int indexOf(long id) {
+            return positions.getOrDefault(id, -1);
+        }
+
+        boolean sameAttributes(int i, double latitude, double longitude, long connectorMask,
+                               long amenityMask, double power, double price) {
+            return Double.compare(latitudes[i], latitude) == 0
+                    && Double.compare(longitudes[i], longitude) == 0
+                    && connectorMasks[i] == connectorMask
+                    && amenityMasks[i] == amenityMask
+                    && Double.compare(powerKw[i], power) == 0
+                    && Double.compare(pricePerKwh[i], price) == 0;
+        }
+
+        /** Copies the first {@code count} rows into a new set of columns of the given size. */
+        Columns copy(int size, int count) {
+            Columns copy = new Columns(size);
+            System.arraycopy(ids, 0, copy.ids, 0, count);
+            System.arraycopy(latitudes, 0, copy.latitudes, 0, count);
+            System.arraycopy(longitudes, 0, copy.longitudes, 0, count);
+            System.arraycopy(connectorMasks, 0, copy.connectorMasks, 0, count);
+            System.arraycopy(amenityMasks, 0, copy.amenityMasks, 0, count);
+            System.arraycopy(powerKw, 0, copy.powerKw, 0, count);
+            System.arraycopy(pricePerKwh, 0, copy.pricePerKwh, 0, count);
+            for (int i = 0; i < count; i++) {
+                copy.availableSlots.set(i, availableSlots.get(i));
+                copy.positions.put(ids[i], i);
+            }
+            return copy;
+        }
+
+        void set(int i, long id, double latitude, double longitude, int slots,
+                 long connectorMask, long amenityMask, double power, double price) {
+            ids[i] = id;
+            latitudes[i] = latitude;
+            longitudes[i] = longitude;
+            availableSlots.set(i, slots);
+            connectorMasks[i] = connectorMask;
+            amenityMasks[i] = amenityMask;
+            powerKw[i] = power;
+            pricePerKwh[i] = price;
+            positions.put(id, i);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int size() {
+        return columns.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    public synchronized void rebuild() {
+        List<Object[]> rows = stationRepository.findSnapshotRows();
+        Columns rebuilt = new Columns(rows.size());
+
+        for (int i = 0; i < rows.size(); i++) {
+            Object[] row = rows.get(i);
+            rebuilt.set(i,
+                    (Long) row[0],
+                    (Double) row[1],
+                    (Double) row[2],
+                    row[3] != null ? (Integer) row[3] : 0,
+                    row[4] != null ? (Long) row[4] : 0L,
+                    row[5] != null ? (Long) row[5] : 0L,
+                    row[6] != null ? (Double) row[6] : Double.NaN,
+                    row[7] != null ? ((BigDecimal) row[7]).doubleValue() : Double.NaN);
+        }
+
+        columns = rebuilt;
+        logger.info("Station snapshot rebuilt with {} stations", rows.size());
+    }
+
+    /**
+     * Patches the snapshot with the saved state of a station. When called inside
+     * a transaction the patch is deferred until commit so a rollback never leaks
+     * into the snapshot.
+     */
+    public void apply(Station station) {
+        if (!enabled || station.getId() == null) {
+            return;
+        }
+        long id = station.getId();
+        boolean searchable = "Available".equals(station.getStatus())
+                && "Approved".equals(station.getApprovalStatus())
+                && station.getLatitude() != null && station.getLongitude() != null;
+        double latitude = searchable ? station.getLatitude() : 0;
+        double longitude = searchable ? station.getLongitude() : 0;
+        int slots = station.getAvailableSlots() != null ? station.getAvailableSlots() : 0;
+        long connectorMask = station.getConnectorMask() != null ? station.getConnectorMask() : 0L;
+        long amenityMask = station.getAmenityMask() != null ? station.getAmenityMask() : 0L;
+        double power = station.getPowerKw() != null ? station.getPowerKw() : Double.NaN;
+        double price = station.getPricePerKwh() != null ? station.getPricePerKwh().doubleValue() : Double.NaN;
+
+        afterCommit(() -> {
+            if (searchable) {
+                upsert(id, latitude, longitude, slots, connectorMask, amenityMask, power, price);
+            } else {
+                removeNow(id);
+            }
+        });
+    }
+
+    public void remove(Long stationId) {
+        if (!enabled || stationId == null) {
+            return;
+        }
+        afterCommit(() -> removeNow(stationId));
+    }
+
+    /**
+     * Offers every snapshot station within {@code rangeKm} of the given point that
+     * passes {@code filter} to {@code nearest}, keyed by station id. Attribute and
+     * bounding-box tests run before the haversine, and each distance is computed once.
+     */
+    public void collectWithin(double lat, double lng, double rangeKm, StationFilter filter, TopK<Long> nearest) {
+        Columns snapshot = columns;
+        double dLat = rangeKm / 111.195;
+        double dLng = rangeKm / (111.195 * Math.max(Math.cos(Math.toRadians(lat)), 0.01));
+        double minLat = lat - dLat, maxLat = lat + dLat;
+        double minLng = lng - dLng, maxLng = lng + dLng;
+        // Across the antimeridian only the latitude band pre-filters; the haversine stays exact
+        boolean wraps = minLng < -180 || maxLng > 180;
+
+        double[] latitudes = snapshot.latitudes;
+        double[] longitudes = snapshot.longitudes;
+        for (int i = 0; i < snapshot.size(); i++) {
+            double stationLat = latitudes[i];
+            double stationLng = longitudes[i];
+            if (stationLat < minLat || stationLat > maxLat
+                    || (!wraps && (stationLng < minLng || stationLng > maxLng))) {
+                continue;
+            }
+            if (!filter.matches(snapshot.connectorMasks[i], snapshot.amenityMasks[i],
+                    snapshot.powerKw[i], snapshot.pricePerKwh[i])) {
+                continue;
+            }
+            double distance = GeoHash.distanceKm(lat, lng, stationLat, stationLng);
+            if (distance <= rangeKm) {
+                nearest.offer(snapshot.ids[i], snapshot.ids[i], distance);
+            }
+        }
+    }
+
+    private synchronized void upsert(long id, double latitude, double longitude, int slots,
+                                     long connectorMask, long amenityMask, double power, double price) {
+        Columns current = columns;
+        int index = current.indexOf(id);
+        if (index >= 0 && current.sameAttributes(index, latitude, longitude, connectorMask, amenityMask, power, price)) {
+            current.availableSlots.set(index, slots);
+            return;
+        }
+        int n = current.size();
+        Columns updated = current.copy(index >= 0 ? n : n + 1, n);
+        updated.set(index >= 0 ? index : n, id, latitude, longitude, slots, connectorMask, amenityMask, power, price);
+        columns = updated;
+    }
+
+    private synchronized void removeNow(long id) {
+        Columns current = columns;
+        int index = current.indexOf(id);
+        if (index < 0) {
+            return;
+        }
+        int last = current.size() - 1;
+
+        // Move the last entry into the hole; scan order does not matter
+        Columns updated = current.copy(last, last);
+        updated.positions.remove(id);
+        if (index < last) {
+            updated.set(index, current.ids[last], current.latitudes[last], current.longitudes[last],
+                    current.availableSlots.get(last), current.connectorMasks[last], current.amenityMasks[last],
+                    current.powerKw[last], current.pricePerKwh[last]);
+        }
+        columns = updated;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.evcharger.api.service;
+
+import com.evcharger.api.dto.QuoteDto;
+import com.evcharger.api.dto.QuoteRequestDto;
+import com.evcharger.api.entity.Station;
+import com.evcharger.api.repository.StationRepository;
+import com.evcharger.api.util.TimeOfUseRules;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Prices charging time from the station's tariff: energy is the station's power
+ * output over the booked time, charged at {@code pricePerKwh} times the
+ * time-of-use multiplier of each {@link TimeOfUseRules#SLOT_MINUTES} interval.
+ *
+ * Tariffs are held as an immutable map that is replaced, never modified, when a
+ * station's price changes, so quoting is lock-free and never touches the database.
+ * Local station writes patch it after commit; a periodic reload picks up changes
+ * made by other instances. Stations missing from the map are read from the
+ * database in one query per request, so a station created elsewhere can be priced
+ * right away; a station without a price is cached as such until the next reload
+ * or edit, so repeated quotes for it stay off the database.
+ */
+@Service
+public class TariffService {
+    private static final Logger logger = LoggerFactory.getLogger(TariffService.class);
+
+    private static final BigDecimal SECONDS_PER_HOUR = BigDecimal.valueOf(3600);
+
+    @Value("${tariffs.time-of-use:}")
+    private String timeOfUseSpec;
+
+    @Value("${tariffs.default-power-kw:7.4}")
+    private double defaultPowerKw;
+
+    @Autowired
+    private StationRepository stationRepository;
+
+    @Autowired
+    private SlotCalendarService slotCalendarService;
+
+    private volatile Map<Long, StationTariff> tariffs = Map.of();
+    private volatile TimeOfUseRules timeOfUse = TimeOfUseRules.NONE;
+
+    private record StationTariff(BigDecimal pricePerKwh, BigDecimal powerKw) {}
+
+    // Cached for stations that exist but have no price; compared by identity
+    private static final StationTariff NO_TARIFF = new StationTariff(null, null);
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        timeOfUse = TimeOfUseRules.compile(timeOfUseSpec);
+        reload();
+    }
+
+    @Scheduled(fixedDelay = 300000, initialDelay = 300000)
+    public synchronized void reload() {
+        Map<Long, StationTariff> loaded = new HashMap<>();
+        for (Object[] row : stationRepository.findTariffRows()) {
+            loaded.put((Long) row[0], tariffOf((BigDecimal) row[1], (Double) row[2]));
+        }
+        tariffs = Map.copyOf(loaded);
+        logger.debug("Loaded tariffs for {} stations", loaded.size());
+    }
+
+    /** Patches the tariff of a saved station once the surrounding transaction commits. */
+    public void apply(Station station) {
+        if (station.getId() == null) {
+            return;
+        }
+        Long id = station.getId();
+        StationTariff tariff = station.getPricePerKwh() != null
+                ? tariffOf(station.getPricePerKwh(), station.getPowerKw()) : NO_TARIFF;
+        afterCommit(() -> replace(id, tariff));
+    }
+
+    public void remove(Long stationId) {
+        afterCommit(() -> replace(stationId, null));
+    }
+
+    /** Amount charged for booking [start, end) at the station, or null if the station has no price. */
+    public BigDecimal price(Long stationId, LocalDateTime start, LocalDateTime end) {
+        StationTariff tariff = lookup(stationId);
+        return tariff != null ? quote(stationId, tariff, start, end).getAmount() : null;
+    }
+
+    /** Prices each option independently; options that cannot be priced carry an error. */
+    public List<QuoteDto> quoteAll(List<QuoteRequestDto.Option> options) {
+        List<QuoteDto> quotes = new ArrayList<>(options.size());
+        Map<Long, StationTariff> known = lookupAll(options.stream().map(QuoteRequestDto.Option::getStationId).toList());
+        for (QuoteRequestDto.Option option : options) {
+            try {
+                StationTariff tariff = option.getStationId() != null ? priced(known.get(option.getStationId())) : null;
+                if (tariff == null) {
+                    throw new RuntimeException("No tariff for station " + option.getStationId());
+                }
+                quotes.add(quote(option.getStationId(), tariff, option.getStartTime(), option.getEndTime()));
+            } catch (RuntimeException e) {
+                QuoteDto quote = new QuoteDto(option.getStationId(), option.getStartTime(), option.getEndTime());
+                quote.setError(e.getMessage());
+                quotes.add(quote);
+            }
+        }
+        return quotes;
+    }
+
+    public QuoteDto quote(Long stationId, LocalDateTime start, LocalDateTime end) {
+        StationTariff tariff = lookup(stationId);
+        if (tariff == null) {
+            throw new RuntimeException("No tariff for station " + stationId);
+        }
+        return quote(stationId, tariff, start, end);
+    }
+
+    private QuoteDto quote(Long stationId, StationTariff tariff, LocalDateTime start, LocalDateTime end) {
+        slotCalendarService.validateRange(start, end);
+
+        TimeOfUseRules rules = timeOfUse;
+        BigDecimal energy = BigDecimal.ZERO;
+        BigDecimal amount = BigDecimal.ZERO;
+        for (LocalDateTime time = start; time.isBefore(end); ) {
+            LocalDateTime next = time.withMinute(time.getMinute() - time.getMinute() % TimeOfUseRules.SLOT_MINUTES)
+                    .withSecond(0).withNano(0).plusMinutes(TimeOfUseRules.SLOT_MINUTES);
+            if (next.isAfter(end)) {
+                next = end;
+            }
+            BigDecimal kwh = tariff.powerKw()
+                    .multiply(BigDecimal.valueOf(Duration.between(time, next).getSeconds()))
+                    .divide(SECONDS_PER_HOUR, 6, RoundingMode.HALF_UP);
+            energy = energy.add(kwh);
+            amount = amount.add(kwh.multiply(tariff.pricePerKwh()).multiply(rules.multiplierAt(time)));
+            time = next;
+        }
+
+        QuoteDto quote = new QuoteDto(stationId, start, end);
+        quote.setEnergyKwh(energy.setScale(3, RoundingMode.HALF_UP));
+        quote.setAmount(amount.setScale(2, RoundingMode.HALF_UP));
+        return quote;
+    }
+
+    /** The station's tariff, or null if it has none or does not exist. */
+    private StationTariff lookup(Long stationId) {
+        if (stationId == null) {
+            return null;
+        }
+        return priced(lookupAll(List.of(stationId)).get(stationId));
+    }
+
+    /**
+     * The tariff map after reading the stations it is missing in one query and
+     * caching them, including those without a price. Unknown ids are not cached.
+     */
+    private Map<Long, StationTariff> lookupAll(Collection<Long> stationIds) {
+        Map<Long, StationTariff> current = tariffs;
+        Set<Long> missing = new HashSet<>();
+        for (Long stationId : stationIds) {
+            if (stationId != null && !current.containsKey(stationId)) {
+                missing.add(stationId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return current;
+        }
+        Map<Long, StationTariff> found = new HashMap<>();
+        for (Object[] row : stationRepository.findTariffRowsByIds(missing)) {
+            found.put((Long) row[0], row[1] != null ? tariffOf((BigDecimal) row[1], (Double) row[2]) : NO_TARIFF);
+        }
+        if (found.isEmpty()) {
+            return current;
+        }
+        return putAll(found);
+    }
+
+    private static StationTariff priced(StationTariff tariff) {
+        return tariff == NO_TARIFF ? null : tariff;
+    }
+
+    private StationTariff tariffOf(BigDecimal pricePerKwh, Double powerKw) {
+        double power = powerKw != null && powerKw > 0 ? powerKw : defaultPowerKw;
+        return new StationTariff(pricePerKwh, BigDecimal.valueOf(power));
+    }
+
+    private synchronized Map<Long, StationTariff> putAll(Map<Long, StationTariff> found) {
+        Map<Long, StationTariff> updated = new HashMap<>(tariffs);
+        updated.putAll(found);
+        tariffs = Map.copyOf(updated);
+        return tariffs;
+    }
+
+    private synchronized void replace(Long stationId, StationTariff tariff) {
+        Map<Long, StationTariff> updated = new HashMap<>(tariffs);
+        if (tariff != null) {
+            updated.put(stationId, tariff);
+        } else {
+            updated.remove(stationId);
+        }
+        tariffs = Map.copyOf(updated);
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
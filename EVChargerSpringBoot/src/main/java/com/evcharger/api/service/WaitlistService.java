@@ -0,0 +1,174 @@
+package com.evcharger.api.service;
+
+import com.evcharger.api.dto.JoinWaitlistDto;
+import com.evcharger.api.dto.WaitlistEntryDto;
+import com.evcharger.api.entity.Booking;
+import com.evcharger.api.entity.WaitlistEntry;
+import com.evcharger.api.event.DomainEvent;
+import com.evcharger.api.repository.StationRepository;
+import com.evcharger.api.repository.WaitlistRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Per-station FIFO waitlist for full time windows. Joining is a single insert;
+ * whenever capacity is released, {@link #promote} gives the oldest waiters whose
+ * window overlaps the freed time a hold, inside the releasing transaction, and
+ * notifies them through the outbox once it commits.
+ */
+@Service
+public class WaitlistService {
+    private static final Logger logger = LoggerFactory.getLogger(WaitlistService.class);
+
+    private static final int PROMOTE_BATCH_SIZE = 20;
+
+    @Autowired
+    private WaitlistRepository waitlistRepository;
+
+    @Autowired
+    private StationRepository stationRepository;
+
+    @Autowired
+    private SlotCalendarService slotCalendarService;
+
+    @Autowired
+    private BookingHoldService bookingHoldService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Transactional
+    public WaitlistEntryDto join(Long userId, JoinWaitlistDto joinWaitlistDto) {
+        LocalDateTime start = joinWaitlistDto.getStartTime();
+        LocalDateTime end = joinWaitlistDto.getEndTime();
+        // Rejected here so a promotion never fails inside someone else's release
+        slotCalendarService.validateRange(start, end);
+        if (!end.isAfter(LocalDateTime.now())) {
+            throw new RuntimeException("Requested time has already passed");
+        }
+        if (!stationRepository.existsById(joinWaitlistDto.getStationId())) {
+            throw new RuntimeException("Station not found");
+        }
+        if (waitlistRepository.existsWaitingOverlap(userId, joinWaitlistDto.getStationId(), start, end)) {
+            throw new RuntimeException("Already on the waitlist for this station and time");
+        }
+
+        WaitlistEntry entry = waitlistRepository.save(
+                new WaitlistEntry(userId, joinWaitlistDto.getStationId(), start, end));
+        logger.info("User {} joined the waitlist of station {} as entry {}", userId, entry.getStationId(), entry.getId());
+        return convertToDto(entry);
+    }
+
+    @Transactional(readOnly = true)
+    public List<WaitlistEntryDto> getUserEntries(Long userId) {
+        return waitlistRepository.findByUserIdOrderByIdDesc(userId).stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+    }
+
+    @Transactional
+    public void leave(Long entryId, Long userId) {
+        if (waitlistRepository.leave(entryId, userId) == 0) {
+            throw new RuntimeException("Waitlist entry not found or no longer waiting");
+        }
+    }
+
+    /**
+     * Offers capacity freed in [freedStart, freedEnd) at a station to its waitlist,
+     * oldest entry first. Must run in the transaction that released the capacity,
+     * so the hold and the release commit or roll back together. Entries locked by
+     * a concurrent promotion are skipped rather than waited on. Returns the number
+     * of entries promoted.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int promote(Long stationId, LocalDateTime freedStart, LocalDateTime freedEnd) {
+        LocalDateTime now = LocalDateTime.now();
+        if (freedStart == null || freedEnd == null || !freedEnd.isAfter(now)) {
+            return 0;
+        }
+
+        int promoted = 0;
+        for (WaitlistEntry entry : waitlistRepository.lockWaitingOverlapping(stationId, freedStart, freedEnd, now,
+                PageRequest.of(0, PROMOTE_BATCH_SIZE))) {
+            Booking hold = bookingHoldService.tryHold(entry.getUserId(), stationId,
+                    entry.getStartTime(), entry.getEndTime());
+            if (hold == null) {
+                continue;
+            }
+            entry.setStatus("Promoted");
+            entry.setBookingId(hold.getId());
+            entry.setPromotedAt(now);
+            waitlistRepository.save(entry);
+
+            Map<String, Object> payload = new LinkedHashMap<>();
+            payload.put("entryId", entry.getId());
+            payload.put("userId", entry.getUserId());
+            payload.put("bookingId", hold.getId());
+            payload.put("holdExpiresAt", hold.getHoldExpiresAt());
+            outboxService.record("Booking", hold.getId(), stationId, "WaitlistPromoted", payload);
+            promoted++;
+        }
+        return promoted;
+    }
+
+    /** Delivered by the outbox relay once the promoting transaction has committed. */
+    @EventListener
+    public void onPromoted(DomainEvent event) {
+        if (!"WaitlistPromoted".equals(event.getEventType())) {
+            return;
+        }
+        try {
+            JsonNode payload = objectMapper.readTree(event.getPayload());
+            logger.info("Notifying user {}: waitlist entry {} at station {} promoted to hold {} until {}",
+                    payload.path("userId").asLong(), payload.path("entryId").asLong(), event.getStationId(),
+                    payload.path("bookingId").asLong(), payload.path("holdExpiresAt").asText());
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Invalid WaitlistPromoted payload", e);
+        }
+    }
+
+    @Scheduled(fixedDelay = 300000, initialDelay = 60000)
+    @Transactional
+    public void lapseEnded() {
+        int lapsed = waitlistRepository.lapseEnded(LocalDateTime.now());
+        if (lapsed > 0) {
+            logger.info("Lapsed {} waitlist entries whose window has ended", lapsed);
+        }
+    }
+
+    private WaitlistEntryDto convertToDto(WaitlistEntry entry) {
+        WaitlistEntryDto dto = new WaitlistEntryDto();
+        dto.setId(entry.getId());
+        dto.setStationId(entry.getStationId());
+        dto.setStartTime(entry.getStartTime());
+        dto.setEndTime(entry.getEndTime());
+        dto.setStatus(entry.getStatus());
+        dto.setBookingId(entry.getBookingId());
+        dto.setCreatedAt(entry.getCreatedAt());
+        dto.setPromotedAt(entry.getPromotedAt());
+        if ("Waiting".equals(entry.getStatus())) {
+            dto.setPosition(waitlistRepository.countByStationIdAndStatusAndIdLessThan(
+                    entry.getStationId(), "Waiting", entry.getId()) + 1);
+        }
+        return dto;
+    }
+}
@@ -0,0 +1,174 @@
+package com.evcharger.api.util;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Base32 geohash encoding used to bucket stations into spatial cells.
+ * A station's hash is stored at {@link #STORED_PRECISION}; any shorter prefix
+ * identifies the enclosing (larger) cell, so a radius search becomes a handful
+ * of indexed prefix lookups instead of a full table scan.
+ */
+public final class GeoHash {
+
+    public static final int STORED_PRECISION = 9;
+
+    public static final double KM_PER_DEGREE_LAT = 111.195;
+
+    /** Upper bound on the number of cells a single cover may produce. */
+    public static final int MAX_COVER_CELLS = 32;
+
+    private static final char[] BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz".toCharArray();
+
+    private static final double EARTH_RADIUS_KM = 6371;
+
+    private GeoHash() {}
+
+    public static String encode(double latitude, double longitude, int precision) {
+        double minLat = -90, maxLat = 90;
+        double minLng = -180, maxLng = 180;
+        StringBuilder hash = new StringBuilder(precision);
+        boolean evenBit = true;
+        int bit = 0;
+        int ch = 0;
+
+        while (hash.length() < precision) {
+            if (evenBit) {
+                double mid = (minLng + maxLng) / 2;
+                if (longitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLng = mid;
+                } else {
+                    ch = ch << 1;
+                    maxLng = mid;
+                }
+            } else {
+                double mid = (minLat + maxLat) / 2;
+                if (latitude >= mid) {
+                    ch = (ch << 1) | 1;
+                    minLat = mid;
+                } else {
+                    ch = ch << 1;
+                    maxLat = mid;
+                }
+            }
+            evenBit = !evenBit;
+
+            if (++bit == 5) {
+                hash.append(BASE32[ch]);
+                bit = 0;
+                ch = 0;
+            }
+        }
+        return hash.toString();
+    }
+
+    public static String encode(double latitude, double longitude) {
+        return encode(latitude, longitude, STORED_PRECISION);
+    }
+
+    /** Height of a cell in degrees of latitude at the given precision. */
+    public static double cellHeight(int precision) {
+        int latBits = (precision * 5) / 2;
+        return 180.0 / (1L << latBits);
+    }
+
+    /** Width of a cell in degrees of longitude at the given precision. */
+    public static double cellWidth(int precision) {
+        int lngBits = (precision * 5 + 1) / 2;
+        return 360.0 / (1L << lngBits);
+    }
+
+    /**
+     * Returns the set of geohash prefixes that together cover the circle of
+     * {@code radiusKm} around the given point. The precision is chosen as fine
+     * as possible while keeping the cover at or below {@link #MAX_COVER_CELLS}.
+     * An empty set means the area is too large to be worth indexing and the
+     * caller should fall back to an unfiltered query.
+     */
+    public static Set<String> coverCircle(double latitude, double longitude, double radiusKm) {
+        double dLat = radiusKm / KM_PER_DEGREE_LAT;
+        double cosLat = Math.max(Math.cos(Math.toRadians(latitude)), 0.01);
+        double dLng = radiusKm / (KM_PER_DEGREE_LAT * cosLat);
+        return coverBox(latitude - dLat, longitude - dLng, latitude + dLat, longitude + dLng);
+    }
+
+    /**
+     * Returns the geohash prefixes covering the given bounding box, using the
+     * finest precision that stays within {@link #MAX_COVER_CELLS}. A box that
+     * reaches past 180 degrees east or west wraps around to the other side.
+     */
+    public static Set<String> coverBox(double minLat, double minLng, double maxLat, double maxLng) {
+        minLat = clamp(minLat, -90, 90);
+        maxLat = clamp(maxLat, -90, 90);
+        double[][] lngRanges = longitudeRanges(minLng, maxLng);
+
+        for (int precision = STORED_PRECISION; precision >= 1; precision--) {
+            long rows = (long) Math.ceil((maxLat - minLat) / cellHeight(precision)) + 1;
+            long cells = 0;
+            for (double[] range : lngRanges) {
+                cells += rows * ((long) Math.ceil((range[1] - range[0]) / cellWidth(precision)) + 1);
+            }
+            if (cells <= MAX_COVER_CELLS) {
+                return cover(minLat, maxLat, lngRanges, precision);
+            }
+        }
+        return Set.of();
+    }
+
+    /** Returns the geohash cells of the given precision covering the bounding box. */
+    public static Set<String> coverBox(double minLat, double minLng, double maxLat, double maxLng, int precision) {
+        return cover(clamp(minLat, -90, 90), clamp(maxLat, -90, 90), longitudeRanges(minLng, maxLng), precision);
+    }
+
+    private static Set<String> cover(double minLat, double maxLat, double[][] lngRanges, int precision) {
+        double height = cellHeight(precision);
+        double width = cellWidth(precision);
+        Set<String> cells = new LinkedHashSet<>();
+
+        for (double[] range : lngRanges) {
+            for (double lat = minLat; ; lat += height) {
+                double rowLat = Math.min(lat, maxLat);
+                for (double lng = range[0]; ; lng += width) {
+                    double colLng = Math.min(lng, range[1]);
+                    cells.add(encode(rowLat, colLng, precision));
+                    if (colLng >= range[1]) break;
+                }
+                if (rowLat >= maxLat) break;
+            }
+        }
+        return cells;
+    }
+
+    /**
+     * Splits [minLng, maxLng] at the antimeridian into at most two ranges within
+     * [-180, 180], so a box crossing it also covers the cells on the far side.
+     */
+    private static double[][] longitudeRanges(double minLng, double maxLng) {
+        if (maxLng - minLng >= 360) {
+            return new double[][] {{-180, 180}};
+        }
+        if (minLng < -180) {
+            return new double[][] {{minLng + 360, 180}, {-180, maxLng}};
+        }
+        if (maxLng > 180) {
+            return new double[][] {{minLng, 180}, {-180, maxLng - 360}};
+        }
+        return new double[][] {{minLng, maxLng}};
+    }
+
+    /** Great-circle (haversine) distance between two points in kilometers. */
+    public static double distanceKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) +
+                Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) *
+                Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+        return EARTH_RADIUS_KM * c;
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
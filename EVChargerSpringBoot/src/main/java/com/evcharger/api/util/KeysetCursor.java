@@ -0,0 +1,39 @@
+package com.evcharger.api.util;
+
+/**
+ * Opaque "key:id" cursor for keyset pagination: the sort key and id of the last
+ * row of a page. The next page starts strictly after that pair, so every page
+ * is an index range scan regardless of how deep it is.
+ */
+public final class KeysetCursor {
+
+    private final String key;
+    private final long id;
+
+    private KeysetCursor(String key, long id) {
+        this.key = key;
+        this.id = id;
+    }
+
+    public static String encode(Object key, long id) {
+        return key + ":" + id;
+    }
+
+    /** Returns null for a missing cursor; throws for a malformed one. */
+    public static KeysetCursor parse(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        // The key itself may contain ':' (timestamps), the id never does
+        int separator = cursor.lastIndexOf(':');
+        try {
+            return new KeysetCursor(cursor.substring(0, separator), Long.parseLong(cursor.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid cursor: " + cursor);
+        }
+    }
+
+    public String getKey() { return key; }
+
+    public long getId() { return id; }
+}
@@ -0,0 +1,50 @@
+package com.evcharger.api.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decoder for the Google encoded polyline format (precision 5), as returned by
+ * the Directions API and most mobile map SDKs.
+ */
+public final class Polyline {
+
+    private Polyline() {}
+
+    /** Returns the decoded points as {lat, lng} pairs. */
+    public static List<double[]> decode(String encoded) {
+        List<double[]> points = new ArrayList<>();
+        int index = 0;
+        int lat = 0;
+        int lng = 0;
+
+        while (index < encoded.length()) {
+            int[] result = nextValue(encoded, index);
+            lat += result[0];
+            index = result[1];
+
+            result = nextValue(encoded, index);
+            lng += result[0];
+            index = result[1];
+
+            points.add(new double[] { lat / 1e5, lng / 1e5 });
+        }
+        return points;
+    }
+
+    private static int[] nextValue(String encoded, int index) {
+        int shift = 0;
+        int result = 0;
+        int b;
+        do {
+            if (index >= encoded.length()) {
+                throw new RuntimeException("Invalid polyline");
+            }
+            b = encoded.charAt(index++) - 63;
+            result |= (b & 0x1f) << shift;
+            shift += 5;
+        } while (b >= 0x20);
+        int delta = (result & 1) != 0 ? ~(result >> 1) : (result >> 1);
+        return new int[] { delta, index };
+    }
+}
@@ -0,0 +1,144 @@
+package com.evcharger.api.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Geohash cover of a corridor of fixed width around a route polyline.
+ * Every cell remembers which route segments pass near it, so locating a
+ * station only measures against those few segments rather than the whole route.
+ */
+public final class RouteCorridor {
+
+    /** Coarsen the cells until the whole corridor fits in this many. */
+    public static final int MAX_CELLS = 1024;
+
+    private final double[] latitudes;
+    private final double[] longitudes;
+    private final double[] cumulativeKm;
+    private final double corridorKm;
+    private final int precision;
+    private final Map<String, List<Integer>> segmentsByCell;
+
+    public RouteCorridor(List<double[]> points, double corridorKm) {
+        if (points.isEmpty()) {
+            throw new RuntimeException("Route has no points");
+        }
+        List<double[]> route = points.size() == 1 ? List.of(points.get(0), points.get(0)) : points;
+        int n = route.size();
+        this.latitudes = new double[n];
+        this.longitudes = new double[n];
+        this.cumulativeKm = new double[n];
+        this.corridorKm = corridorKm;
+
+        double maxAbsLat = 0;
+        for (int i = 0; i < n; i++) {
+            latitudes[i] = route.get(i)[0];
+            longitudes[i] = route.get(i)[1];
+            maxAbsLat = Math.max(maxAbsLat, Math.abs(latitudes[i]));
+            if (i > 0) {
+                cumulativeKm[i] = cumulativeKm[i - 1]
+                        + GeoHash.distanceKm(latitudes[i - 1], longitudes[i - 1], latitudes[i], longitudes[i]);
+            }
+        }
+
+        double cosLat = Math.max(Math.cos(Math.toRadians(maxAbsLat)), 0.01);
+        int chosen = GeoHash.STORED_PRECISION;
+        while (chosen > 1 && Math.min(cellHeightKm(chosen), cellWidthKm(chosen, cosLat)) < corridorKm) {
+            chosen--;
+        }
+
+        Map<String, List<Integer>> cells = buildCells(chosen, cosLat);
+        while (cells.size() > MAX_CELLS && chosen > 1) {
+            chosen--;
+            cells = buildCells(chosen, cosLat);
+        }
+        this.precision = chosen;
+        this.segmentsByCell = cells;
+    }
+
+    public Set<String> cells() {
+        return segmentsByCell.keySet();
+    }
+
+    public double getLengthKm() {
+        return cumulativeKm[cumulativeKm.length - 1];
+    }
+
+    /**
+     * Locates a point against the route. Returns {offsetKm, alongKm} when it lies
+     * within the corridor, where offset is the distance to the nearest segment and
+     * along is the route distance from the start to the closest point; otherwise null.
+     */
+    public double[] locate(double lat, double lng, String geohash) {
+        if (geohash == null || geohash.length() < precision) {
+            return null;
+        }
+        List<Integer> segments = segmentsByCell.get(geohash.substring(0, precision));
+        if (segments == null) {
+            return null;
+        }
+
+        double bestOffset = Double.MAX_VALUE;
+        double bestAlong = 0;
+        for (int i : segments) {
+            double kx = GeoHash.KM_PER_DEGREE_LAT * Math.cos(Math.toRadians(latitudes[i]));
+            double ky = GeoHash.KM_PER_DEGREE_LAT;
+            double bx = (longitudes[i + 1] - longitudes[i]) * kx;
+            double by = (latitudes[i + 1] - latitudes[i]) * ky;
+            double px = (lng - longitudes[i]) * kx;
+            double py = (lat - latitudes[i]) * ky;
+
+            double lengthSquared = bx * bx + by * by;
+            double t = lengthSquared > 0 ? Math.max(0, Math.min(1, (px * bx + py * by) / lengthSquared)) : 0;
+            double dx = px - t * bx;
+            double dy = py - t * by;
+            double offset = Math.sqrt(dx * dx + dy * dy);
+
+            if (offset < bestOffset) {
+                bestOffset = offset;
+                bestAlong = cumulativeKm[i] + t * (cumulativeKm[i + 1] - cumulativeKm[i]);
+            }
+        }
+        return bestOffset <= corridorKm ? new double[] { bestOffset, bestAlong } : null;
+    }
+
+    private Map<String, List<Integer>> buildCells(int cellPrecision, double cosLat) {
+        Map<String, List<Integer>> cells = new HashMap<>();
+        double stepKm = Math.min(cellHeightKm(cellPrecision), cellWidthKm(cellPrecision, cosLat)) / 2;
+        double padKm = corridorKm + stepKm;
+        double padLat = padKm / GeoHash.KM_PER_DEGREE_LAT;
+        double padLng = padKm / (GeoHash.KM_PER_DEGREE_LAT * cosLat);
+
+        for (int i = 0; i + 1 < latitudes.length; i++) {
+            double segmentKm = cumulativeKm[i + 1] - cumulativeKm[i];
+            int samples = Math.max(1, (int) Math.ceil(segmentKm / stepKm));
+            for (int k = 0; k <= samples; k++) {
+                double f = (double) k / samples;
+                double lat = latitudes[i] + (latitudes[i + 1] - latitudes[i]) * f;
+                double lng = longitudes[i] + (longitudes[i + 1] - longitudes[i]) * f;
+                for (String cell : GeoHash.coverBox(lat - padLat, lng - padLng, lat + padLat, lng + padLng, cellPrecision)) {
+                    List<Integer> segments = cells.computeIfAbsent(cell, c -> new ArrayList<>(2));
+                    if (segments.isEmpty() || segments.get(segments.size() - 1) != i) {
+                        segments.add(i);
+                    }
+                }
+            }
+            if (cells.size() > MAX_CELLS && cellPrecision > 1) {
+                break; // Caller retries at a coarser precision
+            }
+        }
+        return cells;
+    }
+
+    private static double cellHeightKm(int cellPrecision) {
+        return GeoHash.cellHeight(cellPrecision) * GeoHash.KM_PER_DEGREE_LAT;
+    }
+
+    private static double cellWidthKm(int cellPrecision, double cosLat) {
+        return GeoHash.cellWidth(cellPrecision) * GeoHash.KM_PER_DEGREE_LAT * cosLat;
+    }
+}
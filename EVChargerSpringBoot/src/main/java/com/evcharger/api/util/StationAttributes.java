@@ -0,0 +1,116 @@
+package com.evcharger.api.util;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Bit assignments for the connector types and amenities stored as JSON text on
+ * {@code Station}. Stations keep a precomputed mask of each so search filters
+ * are a single AND instead of a JSON parse per row.
+ *
+ * Bit positions are persisted and must never be reordered; append new entries.
+ */
+public final class StationAttributes {
+
+    /** Set on a requested mask for values we have no bit for, so nothing matches. */
+    public static final long UNKNOWN_BIT = 1L << 63;
+
+    private static final Map<String, Integer> CONNECTOR_BITS = new HashMap<>();
+    private static final Map<String, Integer> AMENITY_BITS = new HashMap<>();
+
+    private static final Pattern POWER_PATTERN = Pattern.compile("(\\d+(?:\\.\\d+)?)\\s*(kw|mw)?", Pattern.CASE_INSENSITIVE);
+
+    static {
+        connector(0, "Type 1", "J1772");
+        connector(1, "Type 2", "Mennekes");
+        connector(2, "CCS2", "CCS", "CCS Combo 2");
+        connector(3, "CCS1", "CCS Combo 1");
+        connector(4, "CHAdeMO");
+        connector(5, "GB/T", "GBT");
+        connector(6, "Bharat AC-001", "Bharat AC");
+        connector(7, "Bharat DC-001", "Bharat DC");
+        connector(8, "Tesla", "NACS");
+        connector(9, "Type 6");
+
+        amenity(0, "Parking");
+        amenity(1, "Restroom", "Toilet");
+        amenity(2, "Cafe", "Coffee");
+        amenity(3, "Security", "CCTV");
+        amenity(4, "Food Court", "Restaurant");
+        amenity(5, "Shopping", "Mall");
+        amenity(6, "Garden");
+        amenity(7, "Lounge", "Waiting Area");
+        amenity(8, "WiFi", "Wi-Fi");
+        amenity(9, "ATM");
+        amenity(10, "Convenience Store", "Store");
+    }
+
+    private StationAttributes() {}
+
+    public static long connectorMask(String[] connectors) {
+        return mask(CONNECTOR_BITS, connectors, false);
+    }
+
+    public static long amenityMask(String[] amenities) {
+        return mask(AMENITY_BITS, amenities, false);
+    }
+
+    /** Mask a station must fully contain to satisfy the requested connectors. */
+    public static long requiredConnectorMask(String[] connectors) {
+        return mask(CONNECTOR_BITS, connectors, true);
+    }
+
+    /** Mask a station must fully contain to satisfy the requested amenities. */
+    public static long requiredAmenityMask(String[] amenities) {
+        return mask(AMENITY_BITS, amenities, true);
+    }
+
+    /** Parses a display value such as "50kW" or "7.4 kW" into kilowatts, or null. */
+    public static Double parsePowerKw(String powerOutput) {
+        if (powerOutput == null) {
+            return null;
+        }
+        Matcher matcher = POWER_PATTERN.matcher(powerOutput);
+        if (!matcher.find()) {
+            return null;
+        }
+        double value = Double.parseDouble(matcher.group(1));
+        return "mw".equalsIgnoreCase(matcher.group(2)) ? value * 1000 : value;
+    }
+
+    private static long mask(Map<String, Integer> bits, String[] values, boolean flagUnknown) {
+        if (values == null) {
+            return 0L;
+        }
+        long mask = 0L;
+        for (String value : values) {
+            if (value == null || value.isBlank()) continue;
+            Integer bit = bits.get(normalize(value));
+            if (bit != null) {
+                mask |= 1L << bit;
+            } else if (flagUnknown) {
+                mask |= UNKNOWN_BIT;
+            }
+        }
+        return mask;
+    }
+
+    private static void connector(int bit, String... names) {
+        for (String name : names) {
+            CONNECTOR_BITS.put(normalize(name), bit);
+        }
+    }
+
+    private static void amenity(int bit, String... names) {
+        for (String name : names) {
+            AMENITY_BITS.put(normalize(name), bit);
+        }
+    }
+
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]", "");
+    }
+}
@@ -0,0 +1,105 @@
+package com.evcharger.api.util;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Price multipliers by time of week, compiled once into a flat table with one
+ * entry per {@link #SLOT_MINUTES} of the week, so looking one up is an array index.
+ *
+ * Rules are written as {@code "DAYS HH:mm-HH:mm xMULTIPLIER"} and separated by
+ * ';', for example {@code "MON-FRI 17:00-21:00 x1.25; SAT-SUN 00:00-24:00 x0.9"}.
+ * DAYS is a day or an inclusive day range; times must fall on slot boundaries.
+ * Later rules override earlier ones; time not covered by any rule has multiplier 1.
+ */
+public final class TimeOfUseRules {
+
+    public static final int SLOT_MINUTES = 30;
+    private static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+
+    public static final TimeOfUseRules NONE = compile("");
+
+    private final BigDecimal[] multipliers;
+
+    private TimeOfUseRules(BigDecimal[] multipliers) {
+        this.multipliers = multipliers;
+    }
+
+    public static TimeOfUseRules compile(String spec) {
+        BigDecimal[] multipliers = new BigDecimal[7 * SLOTS_PER_DAY];
+        Arrays.fill(multipliers, BigDecimal.ONE);
+        if (spec == null || spec.isBlank()) {
+            return new TimeOfUseRules(multipliers);
+        }
+
+        for (String rule : spec.split(";")) {
+            if (rule.isBlank()) continue;
+            String[] parts = rule.trim().split("\\s+");
+            if (parts.length != 3 || !parts[2].toLowerCase(Locale.ROOT).startsWith("x")) {
+                throw new IllegalArgumentException("Invalid time-of-use rule: " + rule.trim());
+            }
+            String[] days = parts[0].split("-");
+            int firstDay = parseDay(days[0]);
+            int lastDay = days.length > 1 ? parseDay(days[1]) : firstDay;
+
+            String[] times = parts[1].split("-");
+            if (times.length != 2) {
+                throw new IllegalArgumentException("Invalid time range in rule: " + rule.trim());
+            }
+            int fromSlot = parseSlot(times[0]);
+            int toSlot = parseSlot(times[1]);
+            BigDecimal multiplier = new BigDecimal(parts[2].substring(1));
+            if (multiplier.signum() < 0) {
+                throw new IllegalArgumentException("Negative multiplier in rule: " + rule.trim());
+            }
+
+            if (fromSlot == toSlot) {
+                throw new IllegalArgumentException("Empty time range in rule: " + rule.trim());
+            }
+            // A range ending before it starts runs past midnight into the next day
+            int length = toSlot > fromSlot ? toSlot - fromSlot : SLOTS_PER_DAY - fromSlot + toSlot;
+
+            // Day ranges may wrap around the week, as in SAT-MON
+            for (int day = firstDay; ; day = (day + 1) % 7) {
+                int first = day * SLOTS_PER_DAY + fromSlot;
+                for (int i = 0; i < length; i++) {
+                    multipliers[(first + i) % multipliers.length] = multiplier;
+                }
+                if (day == lastDay) break;
+            }
+        }
+        return new TimeOfUseRules(multipliers);
+    }
+
+    /** Multiplier in effect during the slot containing {@code time}. */
+    public BigDecimal multiplierAt(LocalDateTime time) {
+        int day = time.getDayOfWeek().getValue() - 1;
+        int slot = (time.getHour() * 60 + time.getMinute()) / SLOT_MINUTES;
+        return multipliers[day * SLOTS_PER_DAY + slot];
+    }
+
+    private static int parseDay(String day) {
+        String value = day.trim().toUpperCase(Locale.ROOT);
+        for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+            if (dayOfWeek.name().startsWith(value) && value.length() >= 3) {
+                return dayOfWeek.getValue() - 1;
+            }
+        }
+        throw new IllegalArgumentException("Invalid day: " + day);
+    }
+
+    private static int parseSlot(String time) {
+        String[] hm = time.trim().split(":");
+        if (hm.length != 2) {
+            throw new IllegalArgumentException("Invalid time: " + time);
+        }
+        int minutes = Integer.parseInt(hm[0]) * 60 + Integer.parseInt(hm[1]);
+        if (minutes < 0 || minutes > 24 * 60 || minutes % SLOT_MINUTES != 0) {
+            throw new IllegalArgumentException("Time must be a multiple of " + SLOT_MINUTES + " minutes: " + time);
+        }
+        return minutes / SLOT_MINUTES;
+    }
+}
@@ -0,0 +1,67 @@
+package com.evcharger.api.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Hashed timing wheel of ids with deadlines. Scheduling is O(1) and lock-free;
+ * each {@link #advance} only drains the buckets for the ticks that have passed,
+ * so the cost of a tick is proportional to the timers due in it rather than to
+ * the number of pending timers. Deadlines further out than one revolution stay in
+ * their bucket until the wheel comes round to them again.
+ */
+public final class TimingWheel {
+
+    private final long tickMillis;
+    private final Queue<Timer>[] buckets;
+    private volatile long lastTick;
+
+    private record Timer(long id, long deadlineMillis) {}
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, int bucketCount, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.buckets = new Queue[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.lastTick = startMillis / tickMillis;
+    }
+
+    public void schedule(long id, long deadlineMillis) {
+        // Overdue timers go into the current bucket so the next advance picks them up
+        long tick = Math.max(deadlineMillis / tickMillis, lastTick);
+        buckets[(int) Math.floorMod(tick, (long) buckets.length)].add(new Timer(id, deadlineMillis));
+    }
+
+    /** Returns the ids of all timers with a deadline at or before {@code nowMillis}. */
+    public synchronized List<Long> advance(long nowMillis) {
+        long now = nowMillis / tickMillis;
+        List<Long> due = new ArrayList<>();
+        if (now < lastTick) {
+            return due;
+        }
+        // A pause longer than one revolution only needs each bucket visited once
+        long from = Math.max(lastTick, now - buckets.length + 1);
+
+        for (long tick = from; tick <= now; tick++) {
+            Queue<Timer> bucket = buckets[(int) Math.floorMod(tick, (long) buckets.length)];
+            int pending = bucket.size();
+            for (int i = 0; i < pending; i++) {
+                Timer timer = bucket.poll();
+                if (timer == null) {
+                    break;
+                }
+                if (timer.deadlineMillis() <= nowMillis) {
+                    due.add(timer.id());
+                } else {
+                    bucket.add(timer);
+                }
+            }
+        }
+        lastTick = now;
+        return due;
+    }
+}
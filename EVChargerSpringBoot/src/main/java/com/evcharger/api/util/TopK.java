@@ -0,0 +1,91 @@
+package com.evcharger.api.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the {@code limit} nearest items offered to it, ordered by
+ * (distance, id), using a bounded max-heap: O(n log k) work and O(k) memory.
+ * An optional cursor skips everything up to and including the last item of
+ * the previous page, so paging is keyset based rather than offset based.
+ */
+public final class TopK<T> {
+
+    public static final class Entry<T> {
+        private final T item;
+        private final long id;
+        private final double distance;
+
+        Entry(T item, long id, double distance) {
+            this.item = item;
+            this.id = id;
+            this.distance = distance;
+        }
+
+        public T getItem() { return item; }
+        public long getId() { return id; }
+        public double getDistance() { return distance; }
+    }
+
+    private static final Comparator<Entry<?>> NEAREST_FIRST = Comparator
+            .comparingDouble((Entry<?> e) -> e.distance)
+            .thenComparingLong(e -> e.id);
+
+    private final int limit;
+    private final PriorityQueue<Entry<T>> heap;
+    private final Double afterDistance;
+    private final long afterId;
+    private int matched;
+
+    public TopK(int limit, String cursor) {
+        this.limit = limit;
+        this.heap = new PriorityQueue<>(limit + 1, NEAREST_FIRST.reversed());
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = cursor.split(":");
+            try {
+                this.afterDistance = Double.parseDouble(parts[0]);
+                this.afterId = Long.parseLong(parts[1]);
+            } catch (RuntimeException e) {
+                throw new RuntimeException("Invalid cursor: " + cursor);
+            }
+        } else {
+            this.afterDistance = null;
+            this.afterId = 0;
+        }
+    }
+
+    public void offer(T item, long id, double distance) {
+        if (afterDistance != null
+                && (distance < afterDistance || (distance == afterDistance && id <= afterId))) {
+            return;
+        }
+        matched++;
+        if (heap.size() < limit) {
+            heap.add(new Entry<>(item, id, distance));
+            return;
+        }
+        Entry<T> worst = heap.peek();
+        if (distance < worst.distance || (distance == worst.distance && id < worst.id)) {
+            heap.poll();
+            heap.add(new Entry<>(item, id, distance));
+        }
+    }
+
+    /** Kept entries, nearest first. */
+    public List<Entry<T>> sorted() {
+        List<Entry<T>> entries = new ArrayList<>(heap);
+        entries.sort(NEAREST_FIRST);
+        return entries;
+    }
+
+    /** Cursor for the page after this one, or null when nothing is left. */
+    public String nextCursor() {
+        if (matched <= limit || heap.isEmpty()) {
+            return null;
+        }
+        Entry<T> last = heap.peek();
+        return last.distance + ":" + last.id;
+    }
+}
@@ -0,0 +1,113 @@
+package com.evcharger.api.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the hot booking, station and review lookups against the schema Hibernate
+ * generates from the entity {@code @Index} declarations, and checks with EXPLAIN
+ * that each one is answered from one of the indexes meant for it rather than a
+ * full table scan.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.auto_quote_keyword=true"
+})
+class IndexPlanTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private StationRepository stationRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Test
+    void repositoryLookupsRun() {
+        assertTrue(bookingRepository.findDtosByUserId(1L).isEmpty());
+        assertTrue(bookingRepository.findDtosByStationId(1L).isEmpty());
+        assertTrue(stationRepository.findRowsByApprovalStatus("Approved").isEmpty());
+        assertTrue(stationRepository.findRowsByStationMasterId(1L).isEmpty());
+        assertTrue(stationRepository.findAvailableStations().isEmpty());
+        assertTrue(reviewRepository.findByStationIdWithUser(1L).isEmpty());
+        assertTrue(reviewRepository.findByUserId(1L).isEmpty());
+    }
+
+    @Test
+    void bookingsByUserUseUserIndex() {
+        assertUsesIndex("SELECT id FROM bookings WHERE user_id = 1 ORDER BY created_at DESC",
+                "IX_Bookings_UserId_createdAt");
+    }
+
+    @Test
+    void bookingsByStationUseStationIndex() {
+        assertUsesIndex("SELECT id FROM bookings WHERE station_id = 1 ORDER BY created_at DESC",
+                "IX_Bookings_StationId_createdAt", "IX_Bookings_StationId_startTime");
+    }
+
+    @Test
+    void expiredHoldsUseHoldIndex() {
+        assertUsesIndex("SELECT id FROM bookings WHERE status = 'Held' AND hold_expires_at <= CURRENT_TIMESTAMP",
+                "IX_Bookings_status_holdExpiresAt");
+    }
+
+    @Test
+    void changedBookingsUseUpdatedAtIndex() {
+        assertUsesIndex("SELECT id FROM bookings WHERE updated_at > TIMESTAMP '2024-01-01 00:00:00' "
+                + "AND updated_at <= TIMESTAMP '2024-01-01 00:01:00'", "IX_Bookings_updatedAt");
+    }
+
+    @Test
+    void availableStationsUseStatusIndex() {
+        assertUsesIndex("SELECT id FROM stations WHERE status = 'Available' AND approval_status = 'Approved'",
+                "IX_Stations_status_approvalStatus", "IX_Stations_approvalStatus");
+    }
+
+    @Test
+    void stationsByApprovalUseApprovalIndex() {
+        assertUsesIndex("SELECT id FROM stations WHERE approval_status = 'Pending'", "IX_Stations_approvalStatus");
+    }
+
+    @Test
+    void stationsByMasterUseMasterIndex() {
+        assertUsesIndex("SELECT id FROM stations WHERE station_master_id = 1", "IX_Stations_station_master_id");
+    }
+
+    @Test
+    void reviewsByStationUseStationIndex() {
+        assertUsesIndex("SELECT id FROM reviews WHERE station_id = 1", "IX_Reviews_StationId_rating");
+    }
+
+    @Test
+    void reviewsByUserUseUserIndex() {
+        assertUsesIndex("SELECT id FROM reviews WHERE user_id = 1", "IX_Reviews_UserId");
+    }
+
+    @Test
+    void slotRollOverUsesDayIndex() {
+        assertUsesIndex("SELECT station_id FROM station_slots WHERE slot_date = DATE '2024-01-01' AND slot_index = 0",
+                "IX_StationSlots_day_slot");
+    }
+
+    private void assertUsesIndex(String sql, String... indexes) {
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+        String text = String.join("\n", plan).toUpperCase(Locale.ROOT);
+        assertFalse(text.contains("TABLESCAN"), () -> "Full scan for: " + sql + "\n" + plan);
+        assertTrue(Arrays.stream(indexes).anyMatch(index -> text.contains(index.toUpperCase(Locale.ROOT))),
+                () -> "Expected one of " + Arrays.toString(indexes) + " for: " + sql + "\n" + plan);
+    }
+}
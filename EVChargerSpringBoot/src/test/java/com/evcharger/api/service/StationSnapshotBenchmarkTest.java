@@ -0,0 +1,117 @@
+package com.evcharger.api.service;
+
+import com.evcharger.api.dto.StationFilter;
+import com.evcharger.api.entity.Station;
+import com.evcharger.api.repository.StationRepository;
+import com.evcharger.api.util.GeoHash;
+import com.evcharger.api.util.TopK;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Compares the nearby search over the {@link StationSnapshot} columns with the
+ * list-and-filter loop {@link StationService} runs over loaded {@link Station}
+ * entities, on synthetic stations. Both paths must return the same nearest
+ * stations; the time per query of each is printed.
+ */
+class StationSnapshotBenchmarkTest {
+    private static final int QUERIES = 200;
+    private static final int WARMUP_QUERIES = 50;
+    private static final double RANGE_KM = 25;
+    private static final int LIMIT = 20;
+
+    private static final StationFilter FILTER = new StationFilter(null, 22.0, null, null);
+
+    @ParameterizedTest
+    @ValueSource(ints = {10_000, 100_000, 1_000_000})
+    void snapshotMatchesListScan(int size) {
+        Random random = new Random(size);
+        List<Station> stations = new ArrayList<>(size);
+        List<Object[]> rows = new ArrayList<>(size);
+        double[] powers = {3.3, 7.4, 22.0, 50.0, 150.0};
+        for (int i = 0; i < size; i++) {
+            Station station = new Station();
+            station.setId((long) i + 1);
+            // Spread over a country-sized box, roughly India
+            station.setLatitude(8 + random.nextDouble() * 27);
+            station.setLongitude(68 + random.nextDouble() * 29);
+            station.setStatus("Available");
+            station.setApprovalStatus("Approved");
+            station.setAvailableSlots(random.nextInt(5));
+            station.setConnectorMask((long) random.nextInt(16));
+            station.setAmenityMask((long) random.nextInt(64));
+            station.setPowerKw(powers[random.nextInt(powers.length)]);
+            station.setPricePerKwh(BigDecimal.valueOf(8 + random.nextInt(15)));
+            stations.add(station);
+            rows.add(new Object[] {station.getId(), station.getLatitude(), station.getLongitude(),
+                    station.getAvailableSlots(), station.getConnectorMask(), station.getAmenityMask(),
+                    station.getPowerKw(), station.getPricePerKwh()});
+        }
+
+        StationRepository stationRepository = mock(StationRepository.class);
+        when(stationRepository.findSnapshotRows()).thenReturn(rows);
+        StationSnapshot snapshot = new StationSnapshot();
+        ReflectionTestUtils.setField(snapshot, "stationRepository", stationRepository);
+        snapshot.rebuild();
+        assertEquals(size, snapshot.size());
+
+        double[][] centers = new double[WARMUP_QUERIES + QUERIES][];
+        for (int i = 0; i < centers.length; i++) {
+            centers[i] = new double[] {8 + random.nextDouble() * 27, 68 + random.nextDouble() * 29};
+        }
+
+        long listNanos = 0;
+        long snapshotNanos = 0;
+        for (int i = 0; i < centers.length; i++) {
+            double lat = centers[i][0];
+            double lng = centers[i][1];
+
+            long started = System.nanoTime();
+            long[] fromList = listScan(stations, lat, lng);
+            long listed = System.nanoTime();
+            long[] fromSnapshot = snapshotScan(snapshot, lat, lng);
+            long scanned = System.nanoTime();
+
+            assertEquals(Arrays.toString(fromList), Arrays.toString(fromSnapshot),
+                    "Different nearest stations around " + lat + "," + lng);
+            if (i >= WARMUP_QUERIES) {
+                listNanos += listed - started;
+                snapshotNanos += scanned - listed;
+            }
+        }
+
+        System.out.printf("%,d stations: list scan %.3f ms/query, snapshot %.3f ms/query%n",
+                size, listNanos / 1e6 / QUERIES, snapshotNanos / 1e6 / QUERIES);
+    }
+
+    /** The loop StationService runs over the loaded available stations. */
+    private static long[] listScan(List<Station> stations, double lat, double lng) {
+        TopK<Station> nearest = new TopK<>(LIMIT, null);
+        for (Station station : stations) {
+            if (!"Approved".equals(station.getApprovalStatus())) continue;
+            if (!FILTER.matches(station)) continue;
+            double distance = GeoHash.distanceKm(lat, lng, station.getLatitude(), station.getLongitude());
+            if (distance <= RANGE_KM) {
+                nearest.offer(station, station.getId(), distance);
+            }
+        }
+        return nearest.sorted().stream().mapToLong(TopK.Entry::getId).toArray();
+    }
+
+    private static long[] snapshotScan(StationSnapshot snapshot, double lat, double lng) {
+        TopK<Long> nearest = new TopK<>(LIMIT, null);
+        snapshot.collectWithin(lat, lng, RANGE_KM, FILTER, nearest);
+        return nearest.sorted().stream().mapToLong(TopK.Entry::getId).toArray();
+    }
+}